@@ -7,12 +7,14 @@ import com.shopeasy.ecommerce.dto.response.AuthResponse;
 import com.shopeasy.ecommerce.dto.response.ErrorResponse;
 import com.shopeasy.ecommerce.dto.response.SuccessResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 
@@ -23,9 +25,10 @@ public interface AuthApi {
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Login bem-sucedido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponse.class), examples = @ExampleObject(name = "OK", value = "{\"accessToken\":\"eyJ…\",\"refreshToken\":\"eyJ…\"}"))),
                         @ApiResponse(responseCode = "400", description = "Dados de login inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Bad Request", value = "{\"error\":\"Usuário e senha são obrigatórios\"}"))),
-                        @ApiResponse(responseCode = "401", description = "Usuário ou senha incorretos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Unauthorized", value = "{\"error\":\"Usuário ou senha inválidos\"}")))
+                        @ApiResponse(responseCode = "401", description = "Usuário ou senha incorretos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Unauthorized", value = "{\"error\":\"Usuário ou senha inválidos\"}"))),
+                        @ApiResponse(responseCode = "429", description = "Tentativas demais para o usuário ou IP, ou fila de autenticação cheia", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
         })
-        ResponseEntity<AuthResponse> login(@Valid LoginRequest body);
+        ResponseEntity<AuthResponse> login(@Valid LoginRequest body, @Parameter(hidden = true) HttpServletRequest request);
 
         @Operation(summary = "Refresh Token", description = "Renova o access token a partir do refresh token")
         @ApiResponses({
@@ -39,7 +42,15 @@ public interface AuthApi {
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Usuário registrado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessResponse.class))),
                         @ApiResponse(responseCode = "400", description = "Dados de registro inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
-                        @ApiResponse(responseCode = "409", description = "Usuário já existe", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+                        @ApiResponse(responseCode = "409", description = "Usuário já existe", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+                        @ApiResponse(responseCode = "429", description = "Tentativas demais para o IP", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
         })
-        ResponseEntity<?> register(@Valid RegisterRequest body);
+        ResponseEntity<?> register(@Valid RegisterRequest body, @Parameter(hidden = true) HttpServletRequest request);
+
+        @Operation(summary = "Logout em todos os dispositivos", description = "Revoga todas as famílias de refresh token do dono do token informado")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Sessões encerradas", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou revogado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        ResponseEntity<SuccessResponse> logoutAll(@Valid RefreshRequest body);
 }
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestParam;
 
 
@@ -18,4 +19,10 @@ public interface KafkaApi {
     @ApiResponse(responseCode = "200", description = "Evento enviado com sucesso", content = @Content(mediaType = "text/plain", examples = @ExampleObject(name = "OK", value = "Evento enviado com status: NEW")))
     @ApiResponse(responseCode = "400", description = "Parâmetro 'status' ausente ou inválido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class), examples = @ExampleObject(name = "Bad Request", value = "{\"error\":\"O status é obrigatório\"}")))
     ResponseEntity<String> sendEvent(@RequestParam String status);
+
+    @Operation(summary = "Reprocessar DLT", description = "Reenvia até 'max' eventos da order-events-dlt para o tópico principal (apenas ADMIN)")
+    @ApiResponse(responseCode = "200", description = "Eventos reenviados", content = @Content(mediaType = "text/plain", examples = @ExampleObject(name = "OK", value = "Eventos reenviados da DLT: 42")))
+    @ApiResponse(responseCode = "403", description = "Acesso negado")
+    @PreAuthorize("hasRole('ADMIN')")
+    ResponseEntity<String> replayDeadLetters(@RequestParam(defaultValue = "1000") int max);
 }
@@ -2,9 +2,11 @@ package com.shopeasy.ecommerce.api;
 
 import com.shopeasy.ecommerce.dto.request.OrderRequest;
 import com.shopeasy.ecommerce.dto.response.OrderResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,18 +29,23 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Pedidos", description = "Operações de gerenciamento de pedidos")
 @RequestMapping("/api/orders")
 public interface OrderApi {
 
-        @Operation(summary = "Listar todos os pedidos", description = "Retorna a lista de pedidos cadastrados")
+        @Operation(summary = "Exportar pedidos", description = "Exporta os pedidos em NDJSON (um pedido por linha), em streaming, com filtros opcionais de status e período. Somente ADMIN.")
         @ApiResponses({
-                        @ApiResponse(responseCode = "200", description = "Pedidos retornados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))),
+                        @ApiResponse(responseCode = "200", description = "Exportação iniciada", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = OrderResponse.class))),
                         @ApiResponse(responseCode = "401", description = "Não autorizado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
         })
         @GetMapping
-        List<OrderResponse> list();
+        ResponseEntity<StreamingResponseBody> list(
+                        @Parameter(description = "Filtra pelo status do pedido") @RequestParam(required = false) OrderStatus status,
+                        @Parameter(description = "Criados a partir de (ISO, inclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @Parameter(description = "Criados antes de (ISO, exclusivo)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                        @Parameter(description = "Comprime a resposta com gzip") @RequestParam(defaultValue = "false") boolean gzip);
 
         @Operation(summary = "Listar pedidos do usuário autenticado com paginação")
         @ApiResponses({
@@ -53,6 +60,20 @@ public interface OrderApi {
                         @RequestParam(defaultValue = "createdAt") String sortBy,
                         @RequestParam(defaultValue = "desc") String direction);
 
+        @Operation(summary = "Listar pedidos do usuário autenticado sem contagem", description = "Como /me, sem o COUNT: retorna hasNext em vez do total")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Pedidos retornados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SliceResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Não autorizado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @GetMapping("/me/slice")
+        ResponseEntity<SliceResponse<OrderResponse>> findMyOrdersSlice(
+                        @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "createdAt") String sortBy,
+                        @RequestParam(defaultValue = "desc") String direction,
+                        @Parameter(description = "Inclui um total aproximado, possivelmente desatualizado") @RequestParam(defaultValue = "false") boolean approximateTotal);
+
         @Operation(summary = "Criar um novo pedido", description = "Recebe um OrderRequest e cria um pedido")
         @ApiResponses({
                         @ApiResponse(responseCode = "201", description = "Pedido criado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))),
@@ -87,6 +108,22 @@ public interface OrderApi {
                         @Parameter(schema = @Schema(allowableValues = { "asc",
                                         "desc" })) @RequestParam(defaultValue = "desc") String direction);
 
+        @Operation(summary = "Listar pedidos por status sem contagem", description = "Como /status/{status}, sem o COUNT: retorna hasNext em vez do total. Somente ADMIN.")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Pedidos retornados com sucesso", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SliceResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Não autorizado –> token ausente ou inválido"),
+                        @ApiResponse(responseCode = "403", description = "Acesso negado –> papel insuficiente")
+        })
+        @GetMapping("/status/{status}/slice")
+        ResponseEntity<SliceResponse<OrderResponse>> findByStatusSlice(
+                        @PathVariable OrderStatus status,
+                        @Parameter(description = "Número da página") @RequestParam(defaultValue = "0") int page,
+                        @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Campo para ordenação") @RequestParam(defaultValue = "createdAt") String sortBy,
+                        @Parameter(schema = @Schema(allowableValues = { "asc",
+                                        "desc" })) @RequestParam(defaultValue = "desc") String direction,
+                        @Parameter(description = "Inclui um total aproximado, possivelmente desatualizado") @RequestParam(defaultValue = "false") boolean approximateTotal);
+
         @Operation(summary = "Atualizar pedido", description = "Atualiza um pedido existente pelo ID")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Pedido atualizado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponse.class))),
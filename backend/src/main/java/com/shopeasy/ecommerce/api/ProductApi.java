@@ -2,9 +2,16 @@ package com.shopeasy.ecommerce.api;
 
 
 import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.CursorPageResponse;
 import com.shopeasy.ecommerce.dto.response.ErrorResponse;
+import com.shopeasy.ecommerce.dto.response.ProductFacetsResponse;
 import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.ProductSuggestionResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
+import com.shopeasy.ecommerce.dto.response.SuccessResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +19,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,14 +30,16 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Produtos", description = "Operações de gerenciamento de produtos")
 @RequestMapping("/api/products")
 public interface ProductApi {
 
-        @Operation(summary = "Listar todos os produtos", description = "Retorna todos os produtos cadastrados")
+        @Operation(summary = "Listar todos os produtos", description = "Retorna todos os produtos cadastrados. Aceita If-None-Match com o ETag da resposta anterior")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Produtos listados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class))),
+                        @ApiResponse(responseCode = "304", description = "Página inalterada desde o ETag informado"),
                         @ApiResponse(responseCode = "401", description = "Não autorizado", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
         })
         @GetMapping
@@ -39,16 +49,89 @@ public interface ProductApi {
                         @RequestParam(required = false) BigDecimal minPrice,
                         @RequestParam(required = false) BigDecimal maxPrice,
                         int page,
+                        int size,
+                        @Parameter(hidden = true) String authorization,
+                        @Parameter(hidden = true) WebRequest request);
+
+        @Operation(summary = "Facetas do catálogo", description = "Contagem por categoria e histograma de preços para o mesmo filtro da listagem. Cada faceta ignora o próprio filtro")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Facetas calculadas", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductFacetsResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Quantidade de faixas inválida", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @GetMapping("/facets")
+        ResponseEntity<ProductFacetsResponse> facets(
+                        @RequestParam(required = false) String name,
+                        @RequestParam(required = false) String category,
+                        @RequestParam(required = false) BigDecimal minPrice,
+                        @RequestParam(required = false) BigDecimal maxPrice,
+                        @Parameter(description = "Quantidade de faixas de preço, de 1 a 100") int buckets);
+
+        @Operation(summary = "Listar produtos sem contagem", description = "Mesma paginação da listagem, sem o COUNT: retorna hasNext em vez do total. Com approximateTotal=true inclui o último total calculado em segundo plano")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Produtos listados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SliceResponse.class)))
+        })
+        @GetMapping("/slice")
+        ResponseEntity<SliceResponse<ProductResponse>> listSlice(
+                        @RequestParam(required = false) String name,
+                        @RequestParam(required = false) String category,
+                        @RequestParam(required = false) BigDecimal minPrice,
+                        @RequestParam(required = false) BigDecimal maxPrice,
+                        int page,
+                        int size,
+                        @Parameter(description = "Inclui um total aproximado, possivelmente desatualizado") boolean approximateTotal);
+
+        @Operation(summary = "Listar produtos por cursor", description = "Paginação por cursor em ordem de nome, com custo constante em qualquer profundidade. Use nextCursor/prevCursor da resposta; não retorna total")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Produtos listados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor ou tamanho inválido", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @GetMapping("/cursor")
+        ResponseEntity<CursorPageResponse<ProductResponse>> seek(
+                        @RequestParam(required = false) String name,
+                        @RequestParam(required = false) String category,
+                        @RequestParam(required = false) BigDecimal minPrice,
+                        @RequestParam(required = false) BigDecimal maxPrice,
+                        @RequestParam(required = false) String cursor,
                         int size);
 
-        @Operation(summary = "Buscar produto por ID", description = "Retorna um produto específico pelo ID")
+        @Operation(summary = "Busca textual de produtos", description = "Procura em nome, categoria e descrição, ordenando por relevância e tolerando erros de digitação")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Produtos encontrados, do mais relevante ao menos", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class)))),
+                        @ApiResponse(responseCode = "400", description = "Tamanho inválido", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @GetMapping("/search")
+        ResponseEntity<List<ProductResponse>> search(
+                        @Parameter(description = "Texto buscado") @RequestParam String q,
+                        @Parameter(description = "Máximo de resultados") int size);
+
+        @Operation(summary = "Reconstruir índice de busca", description = "Regrava o índice textual a partir do banco. Somente ADMIN.")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Índice reconstruído", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Não autorizado"),
+                        @ApiResponse(responseCode = "403", description = "Acesso negado")
+        })
+        @PostMapping("/search/rebuild")
+        ResponseEntity<SuccessResponse> rebuildSearchIndex();
+
+        @Operation(summary = "Autocompletar nomes de produto", description = "Nomes que começam com o prefixo, sem caixa e sem acentos, dos mais vendidos aos menos")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Sugestões encontradas", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductSuggestionResponse.class)))),
+                        @ApiResponse(responseCode = "400", description = "Tamanho inválido", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+        })
+        @GetMapping("/suggest")
+        ResponseEntity<List<ProductSuggestionResponse>> suggest(
+                        @Parameter(description = "Início do nome digitado") @RequestParam String prefix,
+                        @Parameter(description = "Máximo de sugestões") int size);
+
+        @Operation(summary = "Buscar produto por ID", description = "Retorna um produto específico pelo ID. Aceita If-None-Match com o ETag da resposta anterior")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Produto encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponse.class))),
+                        @ApiResponse(responseCode = "304", description = "Produto inalterado desde o ETag informado"),
                         @ApiResponse(responseCode = "404", description = "Produto não encontrado", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                         @ApiResponse(responseCode = "401", description = "Não autorizado")
         })
         @GetMapping("/{id}")
-        ResponseEntity<ProductResponse> findById(@PathVariable Long id);
+        ResponseEntity<ProductResponse> findById(@PathVariable Long id, @Parameter(hidden = true) String authorization);
 
         @Operation(summary = "Criar novo produto", description = "Adiciona um novo produto")
         @ApiResponses({
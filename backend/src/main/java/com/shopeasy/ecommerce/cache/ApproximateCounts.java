@@ -0,0 +1,103 @@
+package com.shopeasy.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Totais aproximados para as listagens em modo slice. O COUNT roda numa thread própria, nunca na
+ * requisição: quem pede recebe o último valor calculado (ou nada, antes do primeiro) e, se ele
+ * passou do intervalo de atualização, dispara uma nova contagem em segundo plano.
+ */
+@Slf4j
+@Component
+public class ApproximateCounts {
+
+    private final Cache<Object, Estimate> estimates;
+    private final ThreadPoolExecutor executor;
+    private final long refreshNanos;
+    private final Counter refreshes;
+
+    public ApproximateCounts(MeterRegistry meterRegistry,
+                             @Value("${pagination.approximate-total.max-keys:10000}") long maxKeys,
+                             @Value("${pagination.approximate-total.refresh-seconds:60}") long refreshSeconds,
+                             @Value("${pagination.approximate-total.threads:1}") int threads) {
+        this.estimates = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .build();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "approximate-counts");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.refreshNanos = TimeUnit.SECONDS.toNanos(refreshSeconds);
+        this.refreshes = Counter.builder("pagination_approximate_total_refreshes_total")
+                .description("Contagens executadas em segundo plano para totais aproximados")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Último total conhecido para a consulta identificada por {@code key}.
+     *
+     * @param counter COUNT exato, executado fora da requisição
+     * @return {@code null} enquanto a primeira contagem não terminou
+     */
+    public Long estimate(Object key, LongSupplier counter) {
+        Estimate estimate = estimates.get(key, k -> new Estimate());
+        if (estimate.isStale(refreshNanos) && estimate.refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> refresh(key, estimate, counter));
+            } catch (RejectedExecutionException e) {
+                // Fila cheia: fica com o valor atual e tenta de novo na próxima leitura
+                estimate.refreshing.set(false);
+            }
+        }
+        return estimate.value;
+    }
+
+    private void refresh(Object key, Estimate estimate, LongSupplier counter) {
+        try {
+            estimate.value = counter.getAsLong();
+            estimate.refreshedAt = System.nanoTime();
+            refreshes.increment();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Falha ao contar total aproximado de {}: {}", key, e.getMessage());
+        } finally {
+            estimate.refreshing.set(false);
+        }
+    }
+
+    public void clear() {
+        estimates.invalidateAll();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Estimate {
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile Long value;
+        private volatile long refreshedAt;
+
+        boolean isStale(long refreshNanos) {
+            return value == null || System.nanoTime() - refreshedAt > refreshNanos;
+        }
+    }
+}
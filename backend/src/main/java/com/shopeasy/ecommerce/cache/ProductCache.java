@@ -0,0 +1,75 @@
+package com.shopeasy.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.VersionedResponse;
+import com.shopeasy.ecommerce.util.ETags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache de {@link ProductResponse} por id para {@code GET /api/products/{id}}. Buscas simultâneas
+ * do mesmo id esperam uma única carga. Alterações de produto ou de estoque removem a entrada depois
+ * do commit; a remoção espera uma carga em andamento terminar, então nenhuma leitura anterior ao
+ * commit sobrevive a ela. O ETag é calculado uma vez por carga e guardado junto.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<Long, VersionedResponse<ProductResponse>> cache;
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${products.cache.max-size:10000}") long maxSize,
+                        @Value("${products.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    /** Exceções do {@code loader} (ex.: produto inexistente) chegam ao chamador e nada é guardado. */
+    public VersionedResponse<ProductResponse> get(Long id, Function<Long, ProductResponse> loader) {
+        return cache.get(id, key -> {
+            ProductResponse product = loader.apply(key);
+            return new VersionedResponse<>(product, etag(product));
+        });
+    }
+
+    public static String etag(ProductResponse p) {
+        return ETags.of(p.getId(), p.getName(), p.getDescription(), p.getPrice(), p.getStock(),
+                p.getCategory(), p.getCreatedAt());
+    }
+
+    public void evictAfterCommit(Long id) {
+        evictAfterCommit(List.of(id));
+    }
+
+    public void evictAfterCommit(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(ids);
+            return;
+        }
+        List<Long> pending = List.copyOf(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(pending);
+            }
+        });
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,170 @@
+package com.shopeasy.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.util.ETags;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache das páginas da listagem de produtos (consulta filtrada + COUNT, ou só a consulta no modo
+ * slice). A chave carrega a versão
+ * do catálogo: qualquer escrita em produto incrementa a versão depois do commit e todas as páginas
+ * antigas deixam de ser alcançáveis de uma vez, saindo do cache pelo limite de memória ou pelo TTL.
+ * O estoque não é guardado; quem lê completa a página com o saldo atual do ledger e combina o
+ * ETag da página com esses saldos. O último ETag combinado fica na página junto com a versão do
+ * estoque (incrementada a cada movimento gravado nesta instância), para revalidar sem ir ao banco
+ * enquanto nenhum movimento acontecer.
+ */
+@Component
+public class ProductListCache {
+
+    // Estimativa grosseira do objeto e dos campos fixos, em bytes
+    private static final int PAGE_OVERHEAD = 256;
+    private static final int PRODUCT_OVERHEAD = 160;
+
+    private final Cache<Key, CachedPage> cache;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong stockVersion = new AtomicLong();
+
+    public ProductListCache(MeterRegistry meterRegistry,
+                            @Value("${products.list-cache.max-bytes:16777216}") long maxBytes,
+                            @Value("${products.list-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, CachedPage page) -> page.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "product_pages");
+        Gauge.builder("product_list_cache_hit_ratio", cache, c -> c.stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("product_list_cache_catalog_version", version, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    public record Key(long version, String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                      int page, int size, boolean counted) {
+    }
+
+    /** @param totalElements -1 nas páginas sem COUNT (modo slice) */
+    public record CachedPage(List<ProductResponse> content, long totalElements, boolean hasNext, String etag,
+                             AtomicReference<StockedETag> stocked) {
+
+        public static CachedPage of(List<ProductResponse> content, long totalElements, boolean hasNext,
+                                    int page, int size) {
+            Object[] parts = new Object[4 + content.size() * 6];
+            int i = 0;
+            parts[i++] = page;
+            parts[i++] = size;
+            parts[i++] = totalElements;
+            parts[i++] = hasNext;
+            for (ProductResponse p : content) {
+                parts[i++] = p.getId();
+                parts[i++] = p.getName();
+                parts[i++] = p.getDescription();
+                parts[i++] = p.getPrice();
+                parts[i++] = p.getCategory();
+                parts[i++] = p.getCreatedAt();
+            }
+            return new CachedPage(content, totalElements, hasNext, ETags.of(parts), new AtomicReference<>());
+        }
+
+        /** ETag com estoque calculado na versão de estoque informada, ou {@code null} se não houver. */
+        public String stockedETag(long stockVersion) {
+            StockedETag known = stocked.get();
+            return known != null && known.stockVersion() == stockVersion ? known.etag() : null;
+        }
+
+        /** @param stockVersion versão lida antes de buscar os saldos usados no ETag */
+        public void rememberStockedETag(long stockVersion, String etag) {
+            stocked.set(new StockedETag(stockVersion, etag));
+        }
+
+        int weight() {
+            long bytes = PAGE_OVERHEAD;
+            for (ProductResponse p : content) {
+                bytes += PRODUCT_OVERHEAD + 2L * (length(p.getName()) + length(p.getDescription())
+                        + length(p.getCategory()) + length(p.getCreatedAt()));
+            }
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+
+    /**
+     * Filtros equivalentes para a consulta geram a mesma chave.
+     *
+     * @param counted {@code false} para a página sem COUNT do modo slice
+     */
+    public Key key(String name, String category, BigDecimal minPrice, BigDecimal maxPrice, int page, int size,
+                   boolean counted) {
+        return new Key(version.get(),
+                name == null || name.isBlank() ? null : name.toLowerCase(Locale.ROOT),
+                category == null || category.isBlank() ? null : category,
+                minPrice == null ? null : minPrice.stripTrailingZeros(),
+                maxPrice == null ? null : maxPrice.stripTrailingZeros(),
+                page, size, counted);
+    }
+
+    public record StockedETag(long stockVersion, String etag) {
+    }
+
+    public CachedPage get(Key key, Function<Key, CachedPage> loader) {
+        return cache.get(key, loader);
+    }
+
+    public CachedPage getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void bumpAfterCommit() {
+        incrementAfterCommit(version);
+    }
+
+    /** Chamado a cada movimento de estoque: os ETags com estoque guardados nas páginas deixam de valer. */
+    public void bumpStockAfterCommit() {
+        incrementAfterCommit(stockVersion);
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public long stockVersion() {
+        return stockVersion.get();
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static void incrementAfterCommit(AtomicLong counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.incrementAndGet();
+            }
+        });
+    }
+}
@@ -6,8 +6,10 @@ import com.shopeasy.ecommerce.dto.request.LoginRequest;
 import com.shopeasy.ecommerce.dto.request.RefreshRequest;
 import com.shopeasy.ecommerce.dto.request.RegisterRequest;
 import com.shopeasy.ecommerce.dto.response.SuccessResponse;
+import com.shopeasy.ecommerce.security.LoginThrottle;
 import com.shopeasy.ecommerce.service.AuthService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,11 +24,15 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthController implements AuthApi {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
     @Override
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest body) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest body, HttpServletRequest request) {
         log.info("🔐 Iniciando login para usuário: {}", body.getUsername());
+        // Antes de qualquer hash: tentativas acima do limite não custam BCrypt.
+        // Atrás do ingress, o Tomcat já troca o remoteAddr pelo cliente do X-Forwarded-For
+        loginThrottle.acquire(body.getUsername(), request.getRemoteAddr());
         ResponseEntity<AuthResponse> response = ResponseEntity.ok(authService.login(body));
         log.info("✅ Login finalizado para usuário: {}", body.getUsername());
         return response;
@@ -43,10 +49,18 @@ public class AuthController implements AuthApi {
 
     @Override
     @PostMapping("/register")
-    public ResponseEntity<SuccessResponse> register(@Valid @RequestBody RegisterRequest body) {
+    public ResponseEntity<SuccessResponse> register(@Valid @RequestBody RegisterRequest body, HttpServletRequest request) {
         log.info("📝 Solicitado registro de novo usuário: {}", body.getUsername());
+        loginThrottle.acquire(null, request.getRemoteAddr());
         ResponseEntity<SuccessResponse> response = ResponseEntity.ok(authService.register(body));
         log.info("✅ Registro concluído para usuário: {}", body.getUsername());
         return response;
     }
-}
\ No newline at end of file
+
+    @Override
+    @PostMapping("/logout-all")
+    public ResponseEntity<SuccessResponse> logoutAll(@Valid @RequestBody RefreshRequest body) {
+        log.info("🚪 Solicitado encerramento de todas as sessões");
+        return ResponseEntity.ok(authService.logoutAll(body));
+    }
+}
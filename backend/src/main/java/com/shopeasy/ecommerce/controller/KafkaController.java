@@ -1,6 +1,7 @@
 package com.shopeasy.ecommerce.controller;
 
 import com.shopeasy.ecommerce.api.KafkaApi;
+import com.shopeasy.ecommerce.kafka.dlt.DeadLetterReplayService;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
 import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
 import java.math.BigDecimal;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class KafkaController implements KafkaApi{
 
     private final KafkaProducerService kafkaProducerService;
+    private final DeadLetterReplayService deadLetterReplayService;
 
     @PostMapping
     public ResponseEntity<String> sendEvent(@RequestParam String status) {
@@ -24,4 +26,13 @@ public class KafkaController implements KafkaApi{
         kafkaProducerService.sendOrderEvent(event);
         return ResponseEntity.ok("Evento enviado com status: " + status);
     }
+
+    @PostMapping("/dlt/replay")
+    public ResponseEntity<String> replayDeadLetters(@RequestParam(defaultValue = "1000") int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("O parâmetro 'max' deve ser positivo");
+        }
+        int replayed = deadLetterReplayService.replay(max);
+        return ResponseEntity.ok("Eventos reenviados da DLT: " + replayed);
+    }
 }
\ No newline at end of file
@@ -3,17 +3,22 @@ package com.shopeasy.ecommerce.controller;
 import com.shopeasy.ecommerce.api.OrderApi;
 import com.shopeasy.ecommerce.dto.request.OrderRequest;
 import com.shopeasy.ecommerce.dto.response.OrderResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
 import com.shopeasy.ecommerce.model.OrderStatus;
 import com.shopeasy.ecommerce.service.OrderService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -27,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -35,14 +41,35 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Pedidos", description = "Operações de gerenciamento de pedidos")
 public class OrderController implements OrderApi {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final OrderService orderService;
 
     @Override
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<OrderResponse> list() {
-        log.info("📦 Listando todos os pedidos (admin)");
-        return orderService.list();
+    public ResponseEntity<StreamingResponseBody> list(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        log.info("📦 Exportando pedidos (admin) - gzip: {}", gzip);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out);
+                orderService.export(status, from, to, compressed);
+                compressed.finish();
+            } else {
+                orderService.export(status, from, to, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @Override
@@ -63,6 +90,25 @@ public class OrderController implements OrderApi {
         return ResponseEntity.ok(orderService.findByUser(username, pageable));
     }
 
+    @Override
+    @GetMapping("/me/slice")
+    public ResponseEntity<SliceResponse<OrderResponse>> findMyOrdersSlice(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
+
+        String username = userDetails.getUsername();
+        log.info("📄 Listando pedidos do usuário sem contagem: {}", username);
+
+        Sort sort = direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return ResponseEntity.ok(orderService.findSliceByUser(username, pageable, approximateTotal));
+    }
+
     @Override
     @GetMapping("/{id}")
     public OrderResponse findById(@PathVariable Long id) {
@@ -87,6 +133,24 @@ public class OrderController implements OrderApi {
         return ResponseEntity.ok(orderService.findByStatus(status, pageable));
     }
 
+    @Override
+    @GetMapping("/status/{status}/slice")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SliceResponse<OrderResponse>> findByStatusSlice(
+            @PathVariable OrderStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
+
+        log.info("📊 Listando pedidos com status sem contagem: {}", status);
+        Sort sort = direction.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return ResponseEntity.ok(orderService.findSliceByStatus(status, pageable, approximateTotal));
+    }
+
     @Override
     @PostMapping
     public ResponseEntity<OrderResponse> create(
@@ -2,13 +2,26 @@ package com.shopeasy.ecommerce.controller;
 
 import com.shopeasy.ecommerce.api.ProductApi;
 import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.CursorPageResponse;
+import com.shopeasy.ecommerce.dto.response.ProductFacetsResponse;
 import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.ProductSuggestionResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
+import com.shopeasy.ecommerce.dto.response.SuccessResponse;
+import com.shopeasy.ecommerce.dto.response.VersionedResponse;
 import com.shopeasy.ecommerce.service.ProductService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,6 +36,9 @@ public class ProductController implements ProductApi {
 
     private final ProductService service;
 
+    @Value("${products.http.max-age-seconds:30}")
+    private long maxAgeSeconds;
+
     @Override
     @GetMapping
     public ResponseEntity<Page<ProductResponse>> list(
@@ -31,18 +47,93 @@ public class ProductController implements ProductApi {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            WebRequest request
     ) {
         log.info("📦 Listando produtos com filtros - name: {}, category: {}, minPrice: {}, maxPrice: {}", name, category, minPrice, maxPrice);
-        Page<ProductResponse> resultPage = service.list(name, category, minPrice, maxPrice, page, size);
-        return ResponseEntity.ok(resultPage);
+        // Revalidação sem banco enquanto a página e o estoque não mudaram
+        String cachedETag = service.cachedListETag(name, category, minPrice, maxPrice, page, size);
+        if (cachedETag != null && request.checkNotModified(cachedETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(cachedETag)
+                    .cacheControl(cacheControl(authorization))
+                    .build();
+        }
+        return conditional(service.listVersioned(name, category, minPrice, maxPrice, page, size), authorization);
+    }
+
+    @Override
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsResponse> facets(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "10") int buckets
+    ) {
+        return ResponseEntity.ok(service.facets(name, category, minPrice, maxPrice, buckets));
+    }
+
+    @Override
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponse<ProductResponse>> listSlice(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean approximateTotal
+    ) {
+        log.info("📦 Listando produtos sem contagem - name: {}, category: {}, minPrice: {}, maxPrice: {}", name, category, minPrice, maxPrice);
+        return ResponseEntity.ok(service.listSlice(name, category, minPrice, maxPrice, page, size, approximateTotal));
+    }
+
+    @Override
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> seek(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("📦 Listando produtos por cursor - name: {}, category: {}, minPrice: {}, maxPrice: {}", name, category, minPrice, maxPrice);
+        return ResponseEntity.ok(service.seek(name, category, minPrice, maxPrice, cursor, size));
+    }
+
+    @Override
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponse>> search(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        log.info("🔎 Buscando produtos por texto: {}", q);
+        return ResponseEntity.ok(service.search(q, size));
+    }
+
+    @Override
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SuccessResponse> rebuildSearchIndex() {
+        log.warn("🧱 Reconstrução do índice de busca solicitada");
+        long indexed = service.rebuildSearchIndex();
+        return ResponseEntity.ok(new SuccessResponse("Índice de busca reconstruído: " + indexed + " produtos"));
+    }
+
+    @Override
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggest(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(service.suggest(prefix, size));
     }
 
     @Override
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> findById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> findById(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
         log.info("🔍 Buscando produto com ID: {}", id);
-        return ResponseEntity.ok(service.findById(id));
+        return conditional(service.findVersionedById(id), authorization);
     }
 
     @Override
@@ -69,4 +160,21 @@ public class ProductController implements ProductApi {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Com o ETag na resposta, o Spring compara com o If-None-Match e devolve 304 sem serializar
+     * o corpo. Só respostas anônimas podem ficar em cache compartilhado (CDN).
+     */
+    private <T> ResponseEntity<T> conditional(VersionedResponse<T> response, String authorization) {
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(cacheControl(authorization))
+                .body(response.body());
+    }
+
+    private CacheControl cacheControl(String authorization) {
+        return authorization == null
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic()
+                : CacheControl.noCache().cachePrivate();
+    }
+}
@@ -0,0 +1,24 @@
+package com.shopeasy.ecommerce.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+
+    @Schema(description = "Cursor da próxima página; ausente na última")
+    private String nextCursor;
+
+    @Schema(description = "Cursor da página anterior; ausente na primeira")
+    private String prevCursor;
+}
@@ -0,0 +1,48 @@
+package com.shopeasy.ecommerce.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+
+    @Schema(description = "Produtos que atendem a todos os filtros")
+    private long total;
+
+    @Schema(description = "Produtos por categoria, com todos os filtros menos o de categoria")
+    private List<CategoryCount> categories;
+
+    @Schema(description = "Produtos por faixa de preço, com todos os filtros menos os de preço")
+    private List<PriceBucket> priceHistogram;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryCount {
+
+        private String category;
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+
+        @Schema(description = "Início da faixa, inclusivo")
+        private BigDecimal from;
+
+        @Schema(description = "Fim da faixa, exclusivo")
+        private BigDecimal to;
+
+        private long count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.shopeasy.ecommerce.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    private List<T> content;
+    private int page;
+    private int size;
+
+    @Schema(description = "Indica se existe uma próxima página")
+    private boolean hasNext;
+
+    @Schema(description = "Total aproximado, atualizado em segundo plano; ausente se não pedido ou ainda não calculado")
+    private Long approximateTotal;
+
+    public static <T> SliceResponse<T> of(Slice<T> slice, Long approximateTotal) {
+        return SliceResponse.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .approximateTotal(approximateTotal)
+                .build();
+    }
+}
@@ -0,0 +1,5 @@
+package com.shopeasy.ecommerce.dto.response;
+
+/** Resposta acompanhada do ETag forte da sua representação. */
+public record VersionedResponse<T>(T body, String etag) {
+}
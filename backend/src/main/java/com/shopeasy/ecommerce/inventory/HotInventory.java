@@ -0,0 +1,152 @@
+package com.shopeasy.ecommerce.inventory;
+
+import com.shopeasy.ecommerce.repository.StockLevel;
+import com.shopeasy.ecommerce.repository.StockMovementRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Modo "hot inventory": produtos configurados em {@code inventory.hot.product-ids} têm a reserva
+ * decidida em contadores em memória, sem disputar a linha de saldo em {@code stock_balances}.
+ * O registro durável continua sendo o ledger de estoque; os contadores são reconstruídos a partir dele.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotInventory {
+
+    private final HotInventoryProperties properties;
+    private final StockMovementRepository stockMovementRepository;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        properties.getProductIds().forEach(this::track);
+        log.info("🔥 Hot inventory ativo para {} produto(s)", counters.size());
+    }
+
+    public void track(Long productId) {
+        stockMovementRepository.findStockLevels(List.of(productId)).stream()
+                .findFirst()
+                .map(StockLevel::getQuantity)
+                .ifPresentOrElse(
+                        stock -> counters.computeIfAbsent(productId,
+                                id -> new StripedStockCounter(properties.getStripes(), stock)),
+                        () -> log.warn("❌ Produto {} configurado como hot não existe", productId));
+    }
+
+    public void untrack(Long productId) {
+        counters.remove(productId);
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    public int available(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        return counter == null ? 0 : Math.toIntExact(counter.available());
+    }
+
+    /**
+     * Reserva tudo ou nada. Em rollback da transação o estoque volta para os contadores.
+     *
+     * @return produtos sem estoque suficiente e o disponível de cada um
+     */
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> taken = new HashMap<>();
+        Map<Long, Integer> shortages = new HashMap<>();
+
+        quantities.forEach((productId, quantity) -> {
+            StripedStockCounter counter = counters.get(productId);
+            if (counter != null && counter.tryReserve(quantity)) {
+                taken.put(productId, quantity);
+            } else {
+                shortages.put(productId, available(productId));
+            }
+        });
+
+        if (!shortages.isEmpty()) {
+            taken.forEach((productId, quantity) -> counters.get(productId).release(quantity));
+            return shortages;
+        }
+
+        afterCompletion(committed -> {
+            if (!committed) {
+                taken.forEach(this::giveBack);
+            }
+        });
+        return Map.of();
+    }
+
+    public void release(Map<Long, Integer> quantities) {
+        afterCompletion(committed -> {
+            if (committed) {
+                quantities.forEach(this::giveBack);
+            }
+        });
+    }
+
+    /**
+     * Aplica um ajuste do admin. Entradas só ficam disponíveis após o commit; saídas
+     * retiram na hora o que houver, para não vender o que está sendo removido.
+     *
+     * @return delta efetivamente aplicado
+     */
+    public int adjust(Long productId, int delta) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter == null) {
+            return delta;
+        }
+        if (delta >= 0) {
+            afterCompletion(committed -> {
+                if (committed) {
+                    giveBack(productId, delta);
+                }
+            });
+            return delta;
+        }
+
+        int taken = Math.toIntExact(counter.takeUpTo(-delta));
+        afterCompletion(committed -> {
+            if (!committed) {
+                giveBack(productId, taken);
+            }
+        });
+        return -taken;
+    }
+
+    private void giveBack(Long productId, int quantity) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter != null) {
+            counter.release(quantity);
+        }
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.shopeasy.ecommerce.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.hot")
+public class HotInventoryProperties {
+
+    private boolean enabled;
+    private List<Long> productIds = new ArrayList<>();
+    private int stripes = 8;
+}
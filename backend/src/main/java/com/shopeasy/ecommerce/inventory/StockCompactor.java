@@ -0,0 +1,74 @@
+package com.shopeasy.ecommerce.inventory;
+
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.StockLevel;
+import com.shopeasy.ecommerce.repository.StockMovementRepository;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Incorpora periodicamente ao saldo em {@code stock_balances} os lançamentos do modo quente,
+ * os únicos que não alteram o saldo ao serem gravados. Os lançamentos são marcados primeiro e
+ * somados depois, na mesma transação, para que só entre no saldo exatamente o que foi marcado.
+ * Eles continuam gravados como auditoria.
+ */
+@Slf4j
+@Component
+public class StockCompactor {
+
+    private final StockMovementRepository stockMovementRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long minAgeMs;
+
+    private final AtomicLong lastCompactionId = new AtomicLong();
+
+    public StockCompactor(StockMovementRepository stockMovementRepository,
+                          ProductRepository productRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.ledger.compaction-min-age-ms:5000}") long minAgeMs) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAgeMs = minAgeMs;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.compaction-interval-ms:60000}")
+    public void scheduledCompaction() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("❌ Falha na compactação do ledger de estoque", e);
+        }
+    }
+
+    public int compact() {
+        long compactionId = lastCompactionId.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(minAgeMs * 1_000_000);
+
+        Integer folded = transactionTemplate.execute(status -> {
+            int marked = stockMovementRepository.markForCompaction(compactionId, cutoff);
+            if (marked == 0) {
+                return 0;
+            }
+            Map<Long, Integer> deltas = stockMovementRepository.sumByCompaction(compactionId).stream()
+                    .collect(Collectors.toMap(StockLevel::getProductId, l -> Math.toIntExact(l.getQuantity())));
+            productRepository.openStockBalances(deltas.keySet());
+            productRepository.applyStockDeltas(deltas);
+            return marked;
+        });
+
+        if (folded != null && folded > 0) {
+            log.info("🗜️ {} lançamentos de estoque incorporados ao saldo", folded);
+        }
+        return folded == null ? 0 : folded;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shopeasy.ecommerce.inventory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estoque disponível de um produto dividido em faixas (stripes) independentes,
+ * para que threads diferentes disputem CAS em contadores distintos.
+ */
+public class StripedStockCounter {
+
+    private final AtomicLong[] available;
+
+    public StripedStockCounter(int stripes, long initialStock) {
+        int size = Math.max(1, stripes);
+        this.available = new AtomicLong[size];
+        for (int i = 0; i < size; i++) {
+            long share = initialStock / size + (i < initialStock % size ? 1 : 0);
+            available[i] = new AtomicLong(share);
+        }
+    }
+
+    public boolean tryReserve(int quantity) {
+        int home = homeStripe();
+        int size = available.length;
+
+        for (int i = 0; i < size; i++) {
+            if (tryTake(available[(home + i) % size], quantity)) {
+                return true;
+            }
+        }
+
+        // Nenhuma faixa sozinha tem o suficiente: junta parcelas de várias e devolve se não fechar
+        long taken = takeUpTo(quantity);
+        if (taken == quantity) {
+            return true;
+        }
+        release(taken);
+        return false;
+    }
+
+    /**
+     * Retira até {@code quantity} unidades, somando o que houver em cada faixa.
+     *
+     * @return quantidade efetivamente retirada
+     */
+    public long takeUpTo(long quantity) {
+        int home = homeStripe();
+        int size = available.length;
+        long remaining = quantity;
+        for (int i = 0; i < size && remaining > 0; i++) {
+            remaining -= takeUpTo(available[(home + i) % size], remaining);
+        }
+        return quantity - remaining;
+    }
+
+    public void release(long quantity) {
+        if (quantity > 0) {
+            available[homeStripe()].addAndGet(quantity);
+        }
+    }
+
+    public long available() {
+        long total = 0;
+        for (AtomicLong cell : available) {
+            total += cell.get();
+        }
+        return total;
+    }
+
+    private int homeStripe() {
+        return (int) Math.floorMod(Thread.currentThread().threadId(), (long) available.length);
+    }
+
+    private static boolean tryTake(AtomicLong cell, int quantity) {
+        long current;
+        do {
+            current = cell.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!cell.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private static long takeUpTo(AtomicLong cell, long quantity) {
+        long current;
+        long taken;
+        do {
+            current = cell.get();
+            taken = Math.min(current, quantity);
+            if (taken <= 0) {
+                return 0;
+            }
+        } while (!cell.compareAndSet(current, current - taken));
+        return taken;
+    }
+}
@@ -1,46 +1,102 @@
 package com.shopeasy.ecommerce.kafka.config;
 
+import com.shopeasy.ecommerce.kafka.dlt.DeadLetterReplayService;
+import com.shopeasy.ecommerce.kafka.dlt.OrderEventMetrics;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.EnableKafkaRetryTopic;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.util.backoff.FixedBackOff;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 
 
 @EnableKafka
+@EnableKafkaRetryTopic
 @Configuration
 @Profile("!test")
 public class KafkaListenerConfig {
 
+    /**
+     * No modo por registro as falhas vão para os tópicos de retry configurados no
+     * {@code @RetryableTopic} do listener, sem travar a partição principal.
+     */
     @Bean
-    public CommonErrorHandler commonErrorHandler() {
-        // Exemplo: 3 tentativas com 2 segundos entre cada
-        FixedBackOff fixedBackOff = new FixedBackOff(2000L, 3);
+    public ConcurrentKafkaListenerContainerFactory<String, OrderEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, OrderEvent> consumerFactory,
+            OrderEventsTopicProperties topicProperties) {
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerFactory);
+        // Uma thread por partição: mais que isso fica ociosa, menos limita o paralelismo
+        factory.setConcurrency(topicProperties.getPartitions());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
 
-        DefaultErrorHandler errorHandler = new DefaultErrorHandler(fixedBackOff);
+        return factory;
+    }
+
+    /**
+     * Tópicos de retry não suportam listeners em lote: aqui o registro que falhou tem duas
+     * tentativas rápidas (no máximo ~0,6s parado) e depois vai direto para a DLT.
+     */
+    @Bean
+    public CommonErrorHandler batchErrorHandler(KafkaTemplate<String, OrderEvent> kafkaTemplate,
+                                                OrderEventMetrics metrics) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, e) -> {
+                    metrics.deadLettered("batch");
+                    // Partição negativa: o producer escolhe pela chave
+                    return new TopicPartition(DeadLetterReplayService.DLT_TOPIC, -1);
+                });
 
-        // Aqui você pode adicionar tratamento para erros específicos, se quiser
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(2);
+        backOff.setInitialInterval(200L);
+        backOff.setMultiplier(2.0);
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
         errorHandler.addNotRetryableExceptions(IllegalArgumentException.class);
 
         return errorHandler;
     }
 
+    /**
+     * Modo em lote: o listener recebe o poll inteiro e confirma com um único commit via
+     * {@code Acknowledgment}. Se um registro falhar, o listener lança
+     * {@code BatchListenerFailedException} com o índice: o error handler confirma os anteriores
+     * e faz seek de volta para o registro que falhou.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, OrderEvent> kafkaListenerContainerFactory(
+    public ConcurrentKafkaListenerContainerFactory<String, OrderEvent> batchKafkaListenerContainerFactory(
             ConsumerFactory<String, OrderEvent> consumerFactory,
-            CommonErrorHandler errorHandler) {
+            CommonErrorHandler batchErrorHandler,
+            OrderEventsTopicProperties topicProperties,
+            OrderEventsConsumerProperties consumerProperties) {
 
         ConcurrentKafkaListenerContainerFactory<String, OrderEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(consumerFactory);
-        factory.setCommonErrorHandler(errorHandler);
+        factory.setCommonErrorHandler(batchErrorHandler);
+        factory.setConcurrency(topicProperties.getPartitions());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, consumerProperties.getMaxPollRecords());
+        factory.getContainerProperties().setKafkaConsumerProperties(overrides);
 
         return factory;
     }
-}
\ No newline at end of file
+}
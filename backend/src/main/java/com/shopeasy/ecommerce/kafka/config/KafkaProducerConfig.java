@@ -1,9 +1,12 @@
 package com.shopeasy.ecommerce.kafka.config;
 
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.serialization.OrderEventSerializer;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +14,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 @Configuration
@@ -19,17 +23,36 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${kafka.order-events.format:BINARY}")
+    private OrderEventsTopicProperties.Format format;
+
     @Bean
-    public ProducerFactory<String, OrderEvent> producerFactory() {
+    public ProducerFactory<String, OrderEvent> producerFactory(KafkaProducerProperties producerProperties) {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        // Reenvios do producer não duplicam nem reordenam mensagens na partição
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, producerProperties.getMaxBlockMs());
+        producerProperties.getProfile().applyTo(config);
+        // O consumidor já sabe o tipo, o header só aumentaria cada mensagem
+        Serializer<OrderEvent> eventSerializer = format == OrderEventsTopicProperties.Format.JSON
+                ? new JsonSerializer<OrderEvent>().noTypeInfo()
+                : new OrderEventSerializer();
+        // Mensagens ilegíveis vão para a DLT com os bytes originais
+        Serializer<Object> valueSerializer = new DelegatingByTypeSerializer(Map.of(
+                OrderEvent.class, eventSerializer,
+                byte[].class, new ByteArraySerializer()));
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), castValueSerializer(valueSerializer));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Serializer<OrderEvent> castValueSerializer(Serializer<?> serializer) {
+        return (Serializer<OrderEvent>) serializer;
     }
 
     @Bean
-    public KafkaTemplate<String, OrderEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, OrderEvent> kafkaTemplate(ProducerFactory<String, OrderEvent> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 }
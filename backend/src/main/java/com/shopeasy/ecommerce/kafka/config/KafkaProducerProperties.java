@@ -0,0 +1,45 @@
+package com.shopeasy.ecommerce.kafka.config;
+
+import java.util.Map;
+import lombok.Data;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "kafka.producer")
+public class KafkaProducerProperties {
+
+    private Profile profile = Profile.THROUGHPUT;
+    /** Envios aguardando confirmação do broker; acima disso quem publica espera. */
+    private int maxInFlight = 10_000;
+    private long maxBlockMs = 5_000;
+    private long shutdownTimeoutMs = 10_000;
+
+    /**
+     * LATENCY manda cada registro assim que possível. THROUGHPUT espera alguns milissegundos
+     * para montar lotes maiores e comprime o lote inteiro.
+     */
+    public enum Profile {
+        LATENCY {
+            @Override
+            public void applyTo(Map<String, Object> config) {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+                config.put(ProducerConfig.BATCH_SIZE_CONFIG, 16_384);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none");
+            }
+        },
+        THROUGHPUT {
+            @Override
+            public void applyTo(Map<String, Object> config) {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+                config.put(ProducerConfig.BATCH_SIZE_CONFIG, 131_072);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+                config.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 67_108_864L);
+            }
+        };
+
+        public abstract void applyTo(Map<String, Object> config);
+    }
+}
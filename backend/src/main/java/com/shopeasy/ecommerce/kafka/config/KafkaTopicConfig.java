@@ -0,0 +1,19 @@
+package com.shopeasy.ecommerce.kafka.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    // Criado pelo KafkaAdmin na subida; se o tópico já existir com menos partições, elas são acrescentadas
+    @Bean
+    public NewTopic orderEventsTopic(OrderEventsTopicProperties properties) {
+        return TopicBuilder.name(OrderEventsTopicProperties.TOPIC)
+                .partitions(properties.getPartitions())
+                .replicas(properties.getReplicas())
+                .build();
+    }
+}
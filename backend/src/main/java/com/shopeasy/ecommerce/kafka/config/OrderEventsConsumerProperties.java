@@ -0,0 +1,15 @@
+package com.shopeasy.ecommerce.kafka.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "kafka.order-events.consumer")
+public class OrderEventsConsumerProperties {
+
+    /** Entrega {@code List<OrderEvent>} por poll e confirma o offset uma vez por lote. */
+    private boolean batch;
+    private int maxPollRecords = 500;
+}
@@ -0,0 +1,46 @@
+package com.shopeasy.ecommerce.kafka.config;
+
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "kafka.order-events")
+public class OrderEventsTopicProperties {
+
+    public static final String TOPIC = "order-events";
+
+    private int partitions = 6;
+    private short replicas = 1;
+    private MessageKey key = MessageKey.ORDER_ID;
+    private Format format = Format.BINARY;
+
+    /**
+     * Campo usado como chave da mensagem. Eventos com a mesma chave caem na mesma
+     * partição e são consumidos na ordem em que foram publicados.
+     */
+    public enum MessageKey {
+        ORDER_ID,
+        USER_ID;
+
+        public String of(OrderEvent event) {
+            Long value = this == ORDER_ID ? event.getOrderId() : event.getUserId();
+            return value == null ? null : value.toString();
+        }
+    }
+
+    /**
+     * Formato do valor publicado. O consumidor lê os dois, então dá para voltar para JSON
+     * sem perder mensagens já publicadas.
+     */
+    public enum Format {
+        BINARY,
+        JSON
+    }
+
+    public String keyOf(OrderEvent event) {
+        return key.of(event);
+    }
+}
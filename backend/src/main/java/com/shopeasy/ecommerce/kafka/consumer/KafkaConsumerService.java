@@ -1,16 +1,84 @@
 package com.shopeasy.ecommerce.kafka.consumer;
 
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dlt.OrderEventMetrics;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class KafkaConsumerService {
 
-    @KafkaListener(topics = "order-events", groupId = "${spring.kafka.consumer.group-id}")
-    public void consume(OrderEvent event) {
+    private final OrderEventMetrics metrics;
+
+    // Só um dos dois listeners sobe, conforme kafka.order-events.consumer.batch.
+    // Falhas seguem order-events-retry-0, -1, ... com atraso exponencial e terminam em order-events-dlt.
+    @RetryableTopic(
+            attempts = "${kafka.order-events.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${kafka.order-events.retry.initial-delay-ms:1000}",
+                    multiplierExpression = "${kafka.order-events.retry.multiplier:2.0}",
+                    maxDelayExpression = "${kafka.order-events.retry.max-delay-ms:30000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            retryTopicSuffix = "-retry",
+            dltTopicSuffix = "-dlt",
+            numPartitions = "${kafka.order-events.partitions:6}",
+            replicationFactor = "${kafka.order-events.replicas:1}",
+            exclude = IllegalArgumentException.class)
+    @KafkaListener(id = "orderEvents",
+            topics = OrderEventsTopicProperties.TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}",
+            autoStartup = "#{!${kafka.order-events.consumer.batch:false}}")
+    public void consume(OrderEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        if (!OrderEventsTopicProperties.TOPIC.equals(topic)) {
+            metrics.retried(topic);
+        }
+        handle(event);
+    }
+
+    @DltHandler
+    public void deadLetter(OrderEvent event, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        metrics.deadLettered("retry");
+        log.error("☠️ Evento esgotou as tentativas e ficou em {}: {}", topic, event);
+    }
+
+    @KafkaListener(id = "orderEventsBatch",
+            topics = OrderEventsTopicProperties.TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${kafka.order-events.consumer.batch:false}")
+    public void consumeBatch(List<OrderEvent> events, Acknowledgment ack) {
+        log.info("📦 Lote de {} eventos recebido do Kafka", events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) == null) {
+                // Bytes ilegíveis: o ErrorHandlingDeserializer deixa o valor nulo e o erro no header
+                throw new BatchListenerFailedException("Evento ilegível no lote",
+                        new IllegalArgumentException("Falha ao desserializar evento de pedido"), i);
+            }
+            try {
+                handle(events.get(i));
+            } catch (RuntimeException e) {
+                // Os eventos anteriores são confirmados e o consumo volta a partir deste índice
+                throw new BatchListenerFailedException("Falha ao processar evento do lote", e, i);
+            }
+        }
+        ack.acknowledge();
+    }
+
+    public void handle(OrderEvent event) {
         log.info("📩 Evento recebido no Kafka: {}", event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.shopeasy.ecommerce.kafka.dlt;
+
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
+import com.shopeasy.ecommerce.kafka.serialization.OrderEventDeserializer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reenvia eventos da DLT para o tópico principal. Usa um grupo de consumo próprio com commit
+ * manual, então cada evento da DLT é reenviado uma única vez mesmo com chamadas repetidas.
+ * O offset de cada partição só avança até o último reenvio confirmado pelo broker; na primeira
+ * falha o replay para, e o restante volta na próxima chamada.
+ */
+@Slf4j
+@Service
+public class DeadLetterReplayService {
+
+    public static final String DLT_TOPIC = OrderEventsTopicProperties.TOPIC + "-dlt";
+    private static final String REPLAY_GROUP = "order-events-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final KafkaProducerService producerService;
+    private final OrderEventsTopicProperties topicProperties;
+    private final OrderEventMetrics metrics;
+    private final String bootstrapServers;
+    private final long sendTimeoutMs;
+
+    public DeadLetterReplayService(KafkaProducerService producerService,
+                                   OrderEventsTopicProperties topicProperties,
+                                   OrderEventMetrics metrics,
+                                   @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                                   @Value("${kafka.order-events.dlt.replay-send-timeout-ms:30000}") long sendTimeoutMs) {
+        this.producerService = producerService;
+        this.topicProperties = topicProperties;
+        this.metrics = metrics;
+        this.bootstrapServers = bootstrapServers;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public synchronized int replay(int max) {
+        int replayed = 0;
+        int skipped = 0;
+        boolean failed = false;
+        try (Consumer<String, OrderEvent> consumer = newConsumer(max)) {
+            consumer.subscribe(List.of(DLT_TOPIC));
+            while (replayed < max && !failed) {
+                ConsumerRecords<String, OrderEvent> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                List<Resend> resends = new ArrayList<>();
+                int sending = 0;
+                for (ConsumerRecord<String, OrderEvent> record : records) {
+                    if (replayed + sending == max) {
+                        break;
+                    }
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    OrderEvent event = record.value();
+                    if (event == null) {
+                        // Tombstone ou bytes ilegíveis: não há o que reenviar, só avança o offset
+                        log.warn("⚠️ Registro sem evento na DLT ignorado no replay: {}-{}@{}",
+                                record.topic(), record.partition(), record.offset());
+                        resends.add(new Resend(partition, record.offset(), null));
+                        continue;
+                    }
+                    resends.add(new Resend(partition, record.offset(), send(event)));
+                    sending++;
+                }
+
+                // Confirma por partição só até o último reenvio aceito pelo broker
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                Set<TopicPartition> stopped = new HashSet<>();
+                for (Resend resend : resends) {
+                    if (stopped.contains(resend.partition())) {
+                        continue;
+                    }
+                    if (resend.future() == null) {
+                        skipped++;
+                    } else if (confirmed(resend)) {
+                        replayed++;
+                    } else {
+                        stopped.add(resend.partition());
+                        failed = true;
+                        continue;
+                    }
+                    offsets.put(resend.partition(), new OffsetAndMetadata(resend.offset() + 1));
+                }
+                if (!offsets.isEmpty()) {
+                    consumer.commitSync(offsets);
+                }
+            }
+        }
+        metrics.replayed(replayed);
+        if (failed) {
+            log.error("❌ Replay da DLT interrompido após {} eventos: reenvio não confirmado pelo broker", replayed);
+        } else {
+            log.info("🔁 {} eventos reenviados da DLT para {} ({} registros sem evento ignorados)",
+                    replayed, OrderEventsTopicProperties.TOPIC, skipped);
+        }
+        return replayed;
+    }
+
+    // Recusa imediata (limite de envios pendentes) conta como falha do reenvio
+    private CompletableFuture<?> send(OrderEvent event) {
+        try {
+            return producerService.send(OrderEventsTopicProperties.TOPIC, topicProperties.keyOf(event), event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean confirmed(Resend resend) {
+        try {
+            resend.future().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("❌ Falha ao reenviar da DLT: {}-{}", resend.partition(), resend.offset(), e);
+            return false;
+        }
+    }
+
+    private Consumer<String, OrderEvent> newConsumer(int max) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, REPLAY_GROUP);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(max, 500));
+        return new KafkaConsumer<>(config, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new OrderEventDeserializer()));
+    }
+
+    private record Resend(TopicPartition partition, long offset, CompletableFuture<?> future) {
+    }
+}
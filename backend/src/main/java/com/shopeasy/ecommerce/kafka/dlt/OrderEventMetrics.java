@@ -0,0 +1,39 @@
+package com.shopeasy.ecommerce.kafka.dlt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Volume de eventos de pedido que passaram pelos tópicos de retry, pela DLT e pelo replay.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void retried(String topic) {
+        Counter.builder("order_events_retry_total")
+                .description("Eventos de pedido consumidos a partir de um tópico de retry")
+                .tag("topic", topic)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void deadLettered(String source) {
+        Counter.builder("order_events_dlt_total")
+                .description("Eventos de pedido enviados para a DLT")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void replayed(int count) {
+        Counter.builder("order_events_dlt_replayed_total")
+                .description("Eventos de pedido reenviados da DLT para o tópico principal")
+                .register(meterRegistry)
+                .increment(count);
+    }
+}
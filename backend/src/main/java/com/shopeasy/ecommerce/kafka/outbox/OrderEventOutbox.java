@@ -0,0 +1,53 @@
+package com.shopeasy.ecommerce.kafka.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.model.OutboxEvent;
+import com.shopeasy.ecommerce.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registra eventos de pedido no outbox. Precisa rodar dentro da transação do pedido:
+ * o evento só existe se o pedido for confirmado, e o checkout não espera pelo broker.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderEventsTopicProperties topicProperties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OrderEvent event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(OrderEventsTopicProperties.TOPIC)
+                .messageKey(topicProperties.keyOf(event))
+                .payload(write(event))
+                .build());
+        log.info("📥 Evento registrado no outbox: {}", event);
+    }
+
+    OrderEvent read(OutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), OrderEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido no outbox: " + outboxEvent.getId(), e);
+        }
+    }
+
+    private String write(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o evento " + event, e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.shopeasy.ecommerce.kafka.outbox;
+
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
+import com.shopeasy.ecommerce.model.OutboxEvent;
+import com.shopeasy.ecommerce.repository.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publica os eventos pendentes do outbox em lotes. Cada lote é reservado numa transação curta,
+ * enviado fora dela e marcado como enviado numa segunda transação; nenhuma transação nem lock
+ * fica aberto esperando o broker. A entrega é at-least-once: se o processo cair depois do envio
+ * e antes da marcação, a reserva vence e o lote é reenviado, então o consumidor deve ser idempotente
+ * (a chave da mensagem identifica o pedido ou o usuário, conforme {@code kafka.order-events.key}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventOutbox orderEventOutbox;
+    private final KafkaProducerService kafkaProducerService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long claimMs;
+    private final long retentionMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OrderEventOutbox orderEventOutbox,
+                       KafkaProducerService kafkaProducerService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${outbox.relay.claim-ms:60000}") long claimMs,
+                       @Value("${outbox.retention-ms:86400000}") long retentionMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderEventOutbox = orderEventOutbox;
+        this.kafkaProducerService = kafkaProducerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.claimMs = claimMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}", initialDelayString = "${outbox.relay.interval-ms:500}")
+    public void scheduledRelay() {
+        try {
+            // Esvazia o backlog enquanto os lotes vierem cheios
+            while (relayBatch() == batchSize) {
+                log.debug("📤 Lote completo publicado, buscando o próximo");
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ Falha ao publicar eventos do outbox", e);
+        }
+    }
+
+    /**
+     * Publica um lote de eventos pendentes e marca como enviados os que o broker confirmou.
+     *
+     * @return quantidade de eventos confirmados
+     */
+    public int relayBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Dispara o lote inteiro antes de esperar, para o producer agrupar as mensagens
+        List<CompletableFuture<SendResult<String, OrderEvent>>> futures = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            futures.add(send(event));
+        }
+
+        List<Long> confirmed = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (awaitAck(batch.get(i), futures.get(i))) {
+                confirmed.add(batch.get(i).getId());
+            } else {
+                failed.add(batch.get(i).getId());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!confirmed.isEmpty()) {
+                outboxEventRepository.markSent(confirmed, LocalDateTime.now());
+            }
+            // Os não confirmados voltam para a fila já no próximo lote
+            if (!failed.isEmpty()) {
+                outboxEventRepository.releaseClaims(failed);
+            }
+        });
+
+        if (!confirmed.isEmpty()) {
+            log.info("📤 {} eventos do outbox publicados no Kafka", confirmed.size());
+        }
+        return confirmed.size();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}", initialDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(retentionMs * 1_000_000);
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deleteSentBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("🧹 {} eventos enviados removidos do outbox", purged);
+        }
+    }
+
+    /** Reserva o próximo lote; o lock do SKIP LOCKED dura só esta transação. */
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> claimable = outboxEventRepository.lockClaimable(now, PageRequest.of(0, batchSize));
+            if (!claimable.isEmpty()) {
+                outboxEventRepository.claim(claimable.stream().map(OutboxEvent::getId).toList(),
+                        now.plusNanos(claimMs * 1_000_000));
+            }
+            return claimable;
+        });
+        return batch == null ? List.of() : batch;
+    }
+
+    private CompletableFuture<SendResult<String, OrderEvent>> send(OutboxEvent event) {
+        try {
+            return kafkaProducerService.send(event.getTopic(), event.getMessageKey(), orderEventOutbox.read(event));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean awaitAck(OutboxEvent event, CompletableFuture<SendResult<String, OrderEvent>> future) {
+        try {
+            future.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("⚠️ Evento {} do outbox não confirmado, será reenviado: {}", event.getId(), e.getMessage());
+            return false;
+        }
+    }
+}
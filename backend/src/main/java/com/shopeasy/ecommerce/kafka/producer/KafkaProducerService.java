@@ -1,22 +1,116 @@
 package com.shopeasy.ecommerce.kafka.producer;
 
+import com.shopeasy.ecommerce.kafka.config.KafkaProducerProperties;
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+/**
+ * Publica eventos de forma assíncrona com um teto de envios pendentes: quando o broker não
+ * acompanha, quem publica espera até {@code kafka.producer.max-block-ms} em vez de acumular
+ * memória sem limite. O resultado de cada envio vira métrica e log.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class KafkaProducerService {
 
     private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private final OrderEventsTopicProperties topicProperties;
+    private final KafkaProducerProperties producerProperties;
+    private final Semaphore inFlight;
+    private final Counter sent;
+    private final Counter failed;
+    private final Timer latency;
 
-    private static final String TOPIC = "order-events";
+    public KafkaProducerService(KafkaTemplate<String, OrderEvent> kafkaTemplate,
+                                OrderEventsTopicProperties topicProperties,
+                                KafkaProducerProperties producerProperties,
+                                MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicProperties = topicProperties;
+        this.producerProperties = producerProperties;
+        this.inFlight = new Semaphore(producerProperties.getMaxInFlight());
+        this.sent = Counter.builder("order_events_sent_total")
+                .description("Eventos de pedido confirmados pelo broker")
+                .register(meterRegistry);
+        this.failed = Counter.builder("order_events_send_failed_total")
+                .description("Eventos de pedido que o broker não confirmou")
+                .register(meterRegistry);
+        this.latency = Timer.builder("order_events_send_latency")
+                .description("Tempo entre o envio e a confirmação do broker")
+                .register(meterRegistry);
+        meterRegistry.gauge("order_events_in_flight", inFlight,
+                s -> producerProperties.getMaxInFlight() - s.availablePermits());
+    }
+
+    public CompletableFuture<SendResult<String, OrderEvent>> sendOrderEvent(OrderEvent event) {
+        String key = topicProperties.keyOf(event);
+        log.info("🚀 Enviando evento ao Kafka (chave {}): {}", key, event);
+        return send(OrderEventsTopicProperties.TOPIC, key, event);
+    }
+
+    public CompletableFuture<SendResult<String, OrderEvent>> send(String topic, String key, OrderEvent event) {
+        acquire();
+        long begin = System.nanoTime();
+        CompletableFuture<SendResult<String, OrderEvent>> future;
+        try {
+            future = kafkaTemplate.send(topic, key, event);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failed.increment();
+            throw e;
+        }
+        return future.whenComplete((result, e) -> {
+            inFlight.release();
+            latency.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            if (e == null) {
+                sent.increment();
+            } else {
+                failed.increment();
+                log.error("❌ Falha ao enviar evento ao Kafka (chave {}): {}", key, event, e);
+            }
+        });
+    }
+
+    public int inFlight() {
+        return producerProperties.getMaxInFlight() - inFlight.availablePermits();
+    }
+
+    @PreDestroy
+    public void flush() {
+        kafkaTemplate.flush();
+        try {
+            // Espera os callbacks pendentes antes de o producer ser fechado
+            int permits = producerProperties.getMaxInFlight();
+            if (inFlight.tryAcquire(permits, producerProperties.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                inFlight.release(permits);
+            } else {
+                log.warn("⚠️ {} eventos ainda sem confirmação ao encerrar o producer", inFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-    public void sendOrderEvent(OrderEvent event) {
-        log.info("🚀 Enviando evento ao Kafka: {}", event);
-        kafkaTemplate.send(TOPIC, event);
+    private void acquire() {
+        try {
+            if (!inFlight.tryAcquire(producerProperties.getMaxBlockMs(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Limite de envios pendentes ao Kafka atingido ("
+                        + producerProperties.getMaxInFlight() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envio ao Kafka interrompido", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.shopeasy.ecommerce.kafka.serialization;
+
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Lê o formato binário de {@link OrderEventSchema} em qualquer versão e, como fallback, mensagens
+ * em JSON (publicadas antes da troca de formato ou com {@code kafka.order-events.format=JSON}).
+ */
+public class OrderEventDeserializer implements Deserializer<OrderEvent> {
+
+    private final JsonDeserializer<OrderEvent> jsonFallback = new JsonDeserializer<>(OrderEvent.class, false);
+
+    @Override
+    public OrderEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length > 0 && data[0] == '{') {
+            return jsonFallback.deserialize(topic, data);
+        }
+        if (data.length < 2 || data[0] != OrderEventSchema.MAGIC) {
+            throw new SerializationException("Formato desconhecido para OrderEvent no tópico " + topic);
+        }
+
+        int version = data[1] & 0xFF;
+        if (version < 1) {
+            throw new SerializationException("Versão de schema inválida para OrderEvent: " + version);
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data, 2, data.length - 2);
+            long fields = readVarLong(in);
+
+            OrderEvent event = new OrderEvent();
+            if ((fields & OrderEventSchema.ORDER_ID) != 0) {
+                event.setOrderId(readZigZag(in));
+            }
+            if ((fields & OrderEventSchema.USER_ID) != 0) {
+                event.setUserId(readZigZag(in));
+            }
+            if ((fields & OrderEventSchema.TOTAL) != 0) {
+                int scale = (int) readZigZag(in);
+                event.setTotal(new BigDecimal(new BigInteger(readBytes(in)), scale));
+            }
+            if ((fields & OrderEventSchema.STATUS) != 0) {
+                event.setStatus(new String(readBytes(in), StandardCharsets.UTF_8));
+            }
+            // Versões mais novas trazem campos depois destes: são ignorados aqui
+            return event;
+        } catch (BufferUnderflowException | NumberFormatException e) {
+            throw new SerializationException("OrderEvent truncado ou corrompido no tópico " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonFallback.close();
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Varint inválido em OrderEvent");
+    }
+
+    private static long readZigZag(ByteBuffer in) {
+        long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new SerializationException("Tamanho de campo inválido em OrderEvent: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.get(bytes);
+        return bytes;
+    }
+}
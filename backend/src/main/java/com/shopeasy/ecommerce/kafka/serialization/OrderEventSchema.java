@@ -0,0 +1,32 @@
+package com.shopeasy.ecommerce.kafka.serialization;
+
+/**
+ * Formato binário do {@code OrderEvent}:
+ *
+ * <pre>
+ * byte     MAGIC (0xB1, nunca '{', o que separa binário de JSON)
+ * byte     versão do schema
+ * varint   máscara dos campos presentes (bit 0 = orderId, 1 = userId, 2 = total, 3 = status)
+ * zigzag   orderId
+ * zigzag   userId
+ * zigzag   total.scale, varint tamanho + bytes de total.unscaledValue
+ * varint   tamanho + bytes UTF-8 de status
+ * </pre>
+ *
+ * Regras de evolução: campos novos só entram no fim, com um bit novo na máscara e uma versão
+ * nova. Leitores antigos ignoram o que vem depois dos campos que conhecem e leitores novos
+ * tratam como nulo um campo ausente na máscara.
+ */
+public final class OrderEventSchema {
+
+    public static final byte MAGIC = (byte) 0xB1;
+    public static final int CURRENT_VERSION = 1;
+
+    static final long ORDER_ID = 1L;
+    static final long USER_ID = 1L << 1;
+    static final long TOTAL = 1L << 2;
+    static final long STATUS = 1L << 3;
+
+    private OrderEventSchema() {
+    }
+}
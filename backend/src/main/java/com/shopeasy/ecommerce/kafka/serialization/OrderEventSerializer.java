@@ -0,0 +1,100 @@
+package com.shopeasy.ecommerce.kafka.serialization;
+
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Serializa o {@link OrderEvent} no formato descrito em {@link OrderEventSchema}, sem reflexão
+ * e sem headers de tipo.
+ */
+public class OrderEventSerializer implements Serializer<OrderEvent> {
+
+    // Maior varint de 64 bits
+    private static final int MAX_VARINT = 10;
+
+    @Override
+    public byte[] serialize(String topic, OrderEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        byte[] unscaled = event.getTotal() == null ? null : event.getTotal().unscaledValue().toByteArray();
+        byte[] status = event.getStatus() == null ? null : event.getStatus().getBytes(StandardCharsets.UTF_8);
+
+        long fields = 0;
+        if (event.getOrderId() != null) {
+            fields |= OrderEventSchema.ORDER_ID;
+        }
+        if (event.getUserId() != null) {
+            fields |= OrderEventSchema.USER_ID;
+        }
+        if (unscaled != null) {
+            fields |= OrderEventSchema.TOTAL;
+        }
+        if (status != null) {
+            fields |= OrderEventSchema.STATUS;
+        }
+
+        // Tamanho máximo possível: o buffer nunca precisa crescer
+        int capacity = 2 + 6 * MAX_VARINT
+                + (unscaled == null ? 0 : unscaled.length)
+                + (status == null ? 0 : status.length);
+        Output out = new Output(capacity);
+
+        out.write(OrderEventSchema.MAGIC);
+        out.write(OrderEventSchema.CURRENT_VERSION);
+        out.writeVarLong(fields);
+        if (event.getOrderId() != null) {
+            out.writeZigZag(event.getOrderId());
+        }
+        if (event.getUserId() != null) {
+            out.writeZigZag(event.getUserId());
+        }
+        if (unscaled != null) {
+            out.writeZigZag(event.getTotal().scale());
+            out.writeBytes(unscaled);
+        }
+        if (status != null) {
+            out.writeBytes(status);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Output {
+
+        private final byte[] buffer;
+        private int position;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void write(int b) {
+            buffer[position++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+}
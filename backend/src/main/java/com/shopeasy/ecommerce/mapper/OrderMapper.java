@@ -8,9 +8,13 @@ import com.shopeasy.ecommerce.model.Order;
 import com.shopeasy.ecommerce.model.OrderItem;
 import com.shopeasy.ecommerce.model.OrderStatus;
 import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.OrderItemLine;
+import com.shopeasy.ecommerce.repository.OrderSummary;
 import com.shopeasy.ecommerce.repository.ProductRepository;
 import com.shopeasy.ecommerce.util.FormatUtil;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -53,4 +57,26 @@ public class OrderMapper {
                 )
                 .build();
     }
+
+    public static OrderResponse toDTO(OrderSummary order, List<OrderItemLine> lines) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .createdAt(order.getCreatedAt() == null ? null : order.getCreatedAt().format(FormatUtil.DATE_TIME_FORMATTER))
+                .total(order.getTotal())
+                .items(lines.stream()
+                        .map(OrderMapper::toItemDTO)
+                        .collect(Collectors.<OrderItemResponse>toList())
+                )
+                .build();
+    }
+
+    private static OrderItemResponse toItemDTO(OrderItemLine line) {
+        return OrderItemResponse.builder()
+                .productId(line.getProductId())
+                .productName(line.getProductName())
+                .quantity(line.getQuantity())
+                .unitPrice(line.getUnitPrice())
+                .total(line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())))
+                .build();
+    }
 }
@@ -19,6 +19,11 @@ public class ProductMapper {
     }
 
     public static ProductResponse toResponseDTO(Product p) {
+        return p == null ? null : toResponseDTO(p, p.getStock());
+    }
+
+    // O estoque disponível vem do saldo e do ledger; products.stock guarda só o estoque inicial
+    public static ProductResponse toResponseDTO(Product p, int stock) {
         if (p == null) {
             return null;
         }
@@ -27,7 +32,7 @@ public class ProductMapper {
                 .name(p.getName())
                 .description(p.getDescription())
                 .price(p.getPrice())
-                .stock(p.getStock())
+                .stock(stock)
                 .category(p.getCategory())
                 .createdAt(p.getCreatedAt() == null
                         ? null
@@ -35,6 +40,18 @@ public class ProductMapper {
                 .build();
     }
 
+    public static ProductResponse withStock(ProductResponse r, int stock) {
+        return ProductResponse.builder()
+                .id(r.getId())
+                .name(r.getName())
+                .description(r.getDescription())
+                .price(r.getPrice())
+                .stock(stock)
+                .category(r.getCategory())
+                .createdAt(r.getCreatedAt())
+                .build();
+    }
+
     public static void updateEntity(Product p, ProductRequest dto) {
         if (p == null || dto == null) {
             return;
@@ -42,6 +59,5 @@ public class ProductMapper {
         p.setName(dto.getName());
         p.setDescription(dto.getDescription());
         p.setPrice(dto.getPrice());
-        p.setStock(dto.getStock());
     }
 }
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
@@ -25,7 +26,8 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "products")
+// (name, id) é a chave da paginação por cursor
+@Table(name = "products", indexes = @Index(name = "idx_products_name_id", columnList = "name, id"))
 public class Product {
 
     @Id
@@ -63,6 +65,5 @@ public class Product {
         this.setName(dto.getName());
         this.setDescription(dto.getDescription());
         this.setPrice(dto.getPrice());
-        this.setStock(dto.getStock());
     }
 }
@@ -0,0 +1,31 @@
+package com.shopeasy.ecommerce.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo de estoque de um produto, fora da linha de {@code products}. Reservas e devoluções
+ * de produtos comuns alteram o saldo na hora com um UPDATE condicional; lançamentos do modo
+ * quente entram nele pela compactação do ledger.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stock_balances")
+public class StockBalance {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -0,0 +1,65 @@
+package com.shopeasy.ecommerce.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lançamento do ledger de estoque. O disponível de um produto é o saldo em {@code stock_balances}
+ * somado aos lançamentos ainda sem {@code compactionId}; os de produtos comuns já nascem
+ * com {@link #APPLIED}, porque a reserva altera o saldo na mesma transação.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_product_compaction", columnList = "product_id, compaction_id"),
+        // A compactação procura só os pendentes, sem varrer o histórico inteiro
+        @Index(name = "idx_stock_movements_compaction_created", columnList = "compaction_id, created_at")
+})
+public class StockMovement {
+
+    /** Lançamento já incluído no saldo quando foi gravado. */
+    public static final long APPLIED = 0L;
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockMovementType type;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "compaction_id")
+    private Long compactionId;
+
+    @PrePersist
+    void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
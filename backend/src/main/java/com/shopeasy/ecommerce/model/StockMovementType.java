@@ -0,0 +1,5 @@
+package com.shopeasy.ecommerce.model;
+
+public enum StockMovementType {
+    RESERVATION, RELEASE, RESTOCK
+}
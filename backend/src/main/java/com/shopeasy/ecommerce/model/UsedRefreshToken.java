@@ -0,0 +1,48 @@
+package com.shopeasy.ecommerce.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Refresh token já trocado por outro. A chave primária garante que só uma rotação
+ * concorrente vence; a reapresentação do token indica roubo e derruba a família.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "used_refresh_tokens", indexes = {
+        @Index(name = "idx_used_refresh_tokens_used", columnList = "used_at"),
+        @Index(name = "idx_used_refresh_tokens_expires", columnList = "expires_at")
+})
+public class UsedRefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "used_at", nullable = false)
+    private LocalDateTime usedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Sempre INSERT: um id repetido precisa falhar, não virar UPDATE
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
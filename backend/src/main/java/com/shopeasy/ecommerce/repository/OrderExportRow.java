@@ -0,0 +1,8 @@
+package com.shopeasy.ecommerce.repository;
+
+/**
+ * Linha do export: colunas do pedido repetidas em cada item. Pedidos sem itens vêm
+ * em uma única linha com as colunas de item nulas.
+ */
+public interface OrderExportRow extends OrderSummary, OrderItemLine {
+}
@@ -0,0 +1,16 @@
+package com.shopeasy.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+public interface OrderItemLine {
+
+    Long getOrderId();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Integer getQuantity();
+
+    BigDecimal getUnitPrice();
+}
@@ -2,13 +2,96 @@ package com.shopeasy.ecommerce.repository;
 
 import com.shopeasy.ecommerce.model.Order;
 import com.shopeasy.ecommerce.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    Page<Order> findByUser_Username(String username, Pageable pageable);
+    // Leituras projetadas: carregam só as colunas da resposta, sem inicializar usuário, itens ou produtos
+    @Query(value = """
+            SELECT o.id AS id, o.createdAt AS createdAt, o.total AS total
+            FROM Order o
+            WHERE o.user.username = :username
+            """,
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.username = :username")
+    Page<OrderSummary> findSummariesByUsername(@Param("username") String username, Pageable pageable);
 
-    Page<Order> findByStatus(OrderStatus status, Pageable pageable);
+    @Query(value = """
+            SELECT o.id AS id, o.createdAt AS createdAt, o.total AS total
+            FROM Order o
+            WHERE o.status = :status
+            """,
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderSummary> findSummariesByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    // Mesmas consultas sem countQuery: com retorno Slice o Spring Data lê um a mais em vez de contar
+    @Query("""
+            SELECT o.id AS id, o.createdAt AS createdAt, o.total AS total
+            FROM Order o
+            WHERE o.user.username = :username
+            """)
+    Slice<OrderSummary> findSummarySliceByUsername(@Param("username") String username, Pageable pageable);
+
+    @Query("""
+            SELECT o.id AS id, o.createdAt AS createdAt, o.total AS total
+            FROM Order o
+            WHERE o.status = :status
+            """)
+    Slice<OrderSummary> findSummarySliceByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    long countByUserUsername(String username);
+
+    long countByStatus(OrderStatus status);
+
+    // Popularidade do autocompletar de produtos
+    @Query("""
+            SELECT i.product.id AS productId, SUM(i.quantity) AS units
+            FROM OrderItem i
+            WHERE i.order.status <> :excluded
+            GROUP BY i.product.id
+            """)
+    List<ProductSales> sumUnitsByProduct(@Param("excluded") OrderStatus excluded);
+
+    @Query("SELECT o.id AS id, o.createdAt AS createdAt, o.total AS total FROM Order o WHERE o.id = :id")
+    Optional<OrderSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("""
+            SELECT i.order.id AS orderId, i.product.id AS productId, i.productName AS productName,
+                   i.quantity AS quantity, i.unitPrice AS unitPrice
+            FROM OrderItem i
+            WHERE i.order.id IN :orderIds
+            ORDER BY i.order.id, i.id
+            """)
+    List<OrderItemLine> findItemLines(@Param("orderIds") Collection<Long> orderIds);
+
+    // Cursor somente-leitura: o chamador consome em streaming dentro de uma transação
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o.id AS id, o.createdAt AS createdAt, o.total AS total,
+                   o.id AS orderId, i.product.id AS productId, i.productName AS productName,
+                   i.quantity AS quantity, i.unitPrice AS unitPrice
+            FROM Order o LEFT JOIN o.items i
+            WHERE (:status IS NULL OR o.status = :status)
+              AND (:from IS NULL OR o.createdAt >= :from)
+              AND (:to IS NULL OR o.createdAt < :to)
+            ORDER BY o.id, i.id
+            """)
+    Stream<OrderExportRow> streamForExport(@Param("status") OrderStatus status,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,13 @@
+package com.shopeasy.ecommerce.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface OrderSummary {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    BigDecimal getTotal();
+}
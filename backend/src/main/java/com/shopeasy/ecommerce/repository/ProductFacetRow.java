@@ -0,0 +1,14 @@
+package com.shopeasy.ecommerce.repository;
+
+import java.math.BigDecimal;
+
+public interface ProductFacetRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCategory();
+
+    BigDecimal getPrice();
+}
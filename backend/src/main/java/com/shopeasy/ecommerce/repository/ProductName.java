@@ -0,0 +1,8 @@
+package com.shopeasy.ecommerce.repository;
+
+public interface ProductName {
+
+    Long getId();
+
+    String getName();
+}
@@ -1,9 +1,51 @@
 package com.shopeasy.ecommerce.repository;
 
 import com.shopeasy.ecommerce.model.Product;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>  {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductStockRepository, ProductSeekRepository {
 
+    @Query("SELECT MAX(p.id) FROM Product p")
+    Optional<Long> findMaxId();
+
+    // Carga dos índices em memória; o chamador consome em streaming dentro de uma transação
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.name AS name FROM Product p WHERE p.id > :afterId AND p.id <= :upToId ORDER BY p.id")
+    Stream<ProductName> streamNamesBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p.id AS id, p.name AS name, p.description AS description, p.category AS category
+            FROM Product p
+            WHERE p.id > :afterId AND p.id <= :upToId
+            ORDER BY p.id
+            """)
+    Stream<ProductSearchRow> streamSearchRowsBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p.id AS id, p.name AS name, p.category AS category, p.price AS price
+            FROM Product p
+            WHERE p.id > :afterId AND p.id <= :upToId
+            ORDER BY p.id
+            """)
+    Stream<ProductFacetRow> streamFacetRowsBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
 }
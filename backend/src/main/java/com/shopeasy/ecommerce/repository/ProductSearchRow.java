@@ -0,0 +1,12 @@
+package com.shopeasy.ecommerce.repository;
+
+public interface ProductSearchRow {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getCategory();
+}
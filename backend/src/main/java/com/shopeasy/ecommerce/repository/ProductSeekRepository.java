@@ -0,0 +1,22 @@
+package com.shopeasy.ecommerce.repository;
+
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.util.SeekCursor;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductSeekRepository {
+
+    /**
+     * Até {@code limit} produtos depois (ou antes, se o cursor for de volta) da posição
+     * (name, id) do cursor, sem OFFSET nem COUNT. Para trás, a ordem vem invertida.
+     *
+     * @param cursor {@code null} para começar do início
+     */
+    List<Product> seek(Specification<Product> filter, SeekCursor cursor, int limit);
+
+    /** Página por OFFSET sem COUNT: lê um produto a mais só para saber se há próxima página. */
+    Slice<Product> findSlice(Specification<Product> filter, Pageable pageable);
+}
@@ -0,0 +1,75 @@
+package com.shopeasy.ecommerce.repository;
+
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.util.SeekCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+public class ProductSeekRepositoryImpl implements ProductSeekRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Product> seek(Specification<Product> filter, SeekCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        Path<String> name = root.get("name");
+        Path<Long> id = root.get("id");
+
+        Predicate where = filter.toPredicate(root, query, cb);
+        boolean backward = cursor != null && cursor.backward();
+        if (cursor != null) {
+            // O primeiro termo sozinho já delimita a faixa no índice (name, id); o OR desempata pelo id
+            where = cb.and(where, backward
+                    ? cb.and(cb.lessThanOrEqualTo(name, cursor.name()),
+                            cb.or(cb.lessThan(name, cursor.name()), cb.lessThan(id, cursor.id())))
+                    : cb.and(cb.greaterThanOrEqualTo(name, cursor.name()),
+                            cb.or(cb.greaterThan(name, cursor.name()), cb.greaterThan(id, cursor.id()))));
+        }
+
+        query.select(root)
+                .where(where)
+                .orderBy(backward
+                        ? List.of(cb.desc(name), cb.desc(id))
+                        : List.of(cb.asc(name), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Slice<Product> findSlice(Specification<Product> filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(root)
+                .where(filter.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Product> rows = new ArrayList<>(entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList());
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows.remove(pageable.getPageSize());
+        }
+        return new SliceImpl<>(rows, pageable, hasNext);
+    }
+}
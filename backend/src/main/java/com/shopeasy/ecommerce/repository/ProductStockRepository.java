@@ -0,0 +1,28 @@
+package com.shopeasy.ecommerce.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/** Saldos em {@code stock_balances}, sempre por UPDATE condicional e sem bloquear {@code products}. */
+public interface ProductStockRepository {
+
+    /**
+     * Reserva as quantidades em um único lote de {@code UPDATE ... WHERE quantity >= ?}.
+     * Quem passou continua reservado mesmo quando outros itens falham.
+     *
+     * @return produtos cujo saldo não cobriu a quantidade, ou que ainda não têm saldo
+     */
+    Set<Long> reserveStock(Map<Long, Integer> quantities);
+
+    /** Soma deltas com sinal aos saldos em um único lote. */
+    void applyStockDeltas(Map<Long, Integer> deltas);
+
+    /** Troca o saldo só se ele ainda for {@code expected}. */
+    boolean replaceStock(Long productId, int expected, int quantity);
+
+    /** Abre o saldo dos produtos que ainda não têm um, a partir de {@code products.stock}. */
+    void openStockBalances(Collection<Long> productIds);
+
+    void deleteStockBalance(Long productId);
+}
@@ -0,0 +1,112 @@
+package com.shopeasy.ecommerce.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String RESERVE_SQL =
+            "UPDATE stock_balances SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+    private static final String ADJUST_SQL = "UPDATE stock_balances SET quantity = quantity + ? WHERE product_id = ?";
+    private static final String REPLACE_SQL =
+            "UPDATE stock_balances SET quantity = ? WHERE product_id = ? AND quantity = ?";
+    private static final String OPEN_SQL = """
+            INSERT INTO stock_balances (product_id, quantity)
+            SELECT p.id, COALESCE(p.stock, 0) FROM products p
+            WHERE p.id = ? AND NOT EXISTS (SELECT 1 FROM stock_balances b WHERE b.product_id = p.id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Long> reserveStock(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Map.Entry<Long, Integer>> entries = sortedById(quantities);
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+                ps.setInt(3, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public void applyStockDeltas(Map<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Integer>> entries = sortedById(deltas);
+        jdbcTemplate.batchUpdate(ADJUST_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    @Override
+    public boolean replaceStock(Long productId, int expected, int quantity) {
+        return jdbcTemplate.update(REPLACE_SQL, quantity, productId, expected) == 1;
+    }
+
+    @Override
+    public void openStockBalances(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            try {
+                jdbcTemplate.update(OPEN_SQL, productId);
+            } catch (DuplicateKeyException e) {
+                // Outra transação abriu o mesmo saldo primeiro
+            }
+        }
+    }
+
+    @Override
+    public void deleteStockBalance(Long productId) {
+        jdbcTemplate.update("DELETE FROM stock_balances WHERE product_id = ?", productId);
+    }
+
+    // Ordem fixa de bloqueio entre pedidos com vários itens evita deadlocks
+    private static List<Map.Entry<Long, Integer>> sortedById(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        return entries;
+    }
+}
@@ -0,0 +1,30 @@
+package com.shopeasy.ecommerce.repository;
+
+import com.shopeasy.ecommerce.model.RefreshTokenFamily;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
+
+    @Query("SELECT f.id FROM RefreshTokenFamily f WHERE f.username = :username AND f.revokedAt IS NULL")
+    List<String> findActiveIds(@Param("username") String username);
+
+    @Query("SELECT f.id FROM RefreshTokenFamily f WHERE f.revokedAt > :since AND f.expiresAt > :now")
+    List<String> findIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :revokedAt WHERE f.id IN :ids AND f.revokedAt IS NULL")
+    int revoke(@Param("ids") List<String> ids, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.expiresAt = :expiresAt WHERE f.id = :id")
+    int extend(@Param("id") String id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,8 @@
+package com.shopeasy.ecommerce.repository;
+
+public interface StockLevel {
+
+    Long getProductId();
+
+    Long getQuantity();
+}
@@ -0,0 +1,44 @@
+package com.shopeasy.ecommerce.repository;
+
+import com.shopeasy.ecommerce.model.StockMovement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // Saldo e lançamentos pendentes lidos no mesmo comando para não misturar estados da compactação.
+    // Produto gravado fora do serviço ainda sem saldo usa products.stock, de onde o saldo será aberto
+    @Query("""
+            SELECT p.id AS productId,
+                   COALESCE(b.quantity, p.stock, 0)
+                   + COALESCE((SELECT SUM(m.quantity) FROM StockMovement m
+                               WHERE m.productId = p.id AND m.compactionId IS NULL), 0L) AS quantity
+            FROM Product p LEFT JOIN StockBalance b ON b.productId = p.id
+            WHERE p.id IN :productIds
+            """)
+    List<StockLevel> findStockLevels(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT b.quantity FROM StockBalance b WHERE b.productId = :productId")
+    Optional<Integer> findBalance(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("""
+            UPDATE StockMovement m SET m.compactionId = :compactionId
+            WHERE m.compactionId IS NULL AND m.createdAt <= :cutoff
+            """)
+    int markForCompaction(@Param("compactionId") Long compactionId, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("""
+            SELECT m.productId AS productId, SUM(m.quantity) AS quantity
+            FROM StockMovement m
+            WHERE m.compactionId = :compactionId
+            GROUP BY m.productId
+            """)
+    List<StockLevel> sumByCompaction(@Param("compactionId") Long compactionId);
+}
@@ -1,8 +1,14 @@
 package com.shopeasy.ecommerce.repository;
 
 import com.shopeasy.ecommerce.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -11,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     void deleteByUsername(String username);
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Optional<Long> findMaxId();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.username FROM User u WHERE u.id > :afterId AND u.id <= :upToId")
+    Stream<String> streamUsernamesBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
 }
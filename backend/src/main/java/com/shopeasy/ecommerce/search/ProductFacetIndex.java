@@ -0,0 +1,395 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.dto.response.ProductFacetsResponse;
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.ProductFacetRow;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Visão colunar dos produtos em memória para as facetas do catálogo: arrays paralelos ordenados
+ * por id com o nome sem caixa e sem acentos, a categoria codificada num dicionário e o preço em
+ * centavos. Uma única passada conta categorias e faixas de preço; cada faceta ignora o próprio
+ * filtro, para a tela mostrar as alternativas. Escritas desta instância entram depois do commit;
+ * produtos criados por outras chegam no {@link #sync()}, e alterações feitas por elas só na
+ * próxima reconstrução.
+ */
+@Slf4j
+@Component
+public class ProductFacetIndex {
+
+    public static final int MAX_PRICE_BUCKETS = 100;
+
+    // Ids IDENTITY podem ser confirmados fora de ordem; relê uma janela antes do último visto
+    private static final long SYNC_OVERLAP_IDS = 1000;
+    private static final int NO_CATEGORY = -1;
+    private static final int UNKNOWN_CATEGORY = -2;
+
+    private final ProductRepository productRepository;
+    private final ProductNameIndex productNameIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guardados pelo lock
+    private Columns columns = new Columns();
+    private List<Consumer<Columns>> pendingDuringRebuild;
+    private Set<Long> changedDuringSync;
+    private volatile long syncedUpToId;
+
+    public ProductFacetIndex(ProductRepository productRepository,
+                             ProductNameIndex productNameIndex,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productNameIndex = productNameIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        Gauge.builder("products_facets_rows", this, ProductFacetIndex::rows)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Contagens para o mesmo filtro da listagem. O histograma divide a faixa de preços do
+     * catálogo em {@code buckets} partes iguais.
+     */
+    public ProductFacetsResponse facets(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                        int buckets) {
+        String needle = name == null || name.isBlank() ? null : ProductNameIndex.fold(name);
+        // Os mesmos candidatos da listagem; sem eles, a passada confere o nome de todas as linhas
+        List<Long> candidates = needle == null ? null : productNameIndex.candidates(name);
+        long min = minPrice == null ? Long.MIN_VALUE : cents(minPrice, RoundingMode.CEILING);
+        long max = maxPrice == null ? Long.MAX_VALUE : cents(maxPrice, RoundingMode.FLOOR);
+
+        lock.readLock().lock();
+        try {
+            Columns view = columns;
+            if (view.size == 0) {
+                return new ProductFacetsResponse(0, List.of(), List.of());
+            }
+            int code = category == null || category.isBlank()
+                    ? NO_CATEGORY
+                    : view.codes.getOrDefault(category, UNKNOWN_CATEGORY);
+            long width = Math.max(1, Math.ceilDiv(view.maxCents - view.minCents + 1, buckets));
+            Tally tally = new Tally(needle, code, min, max, view.minCents, width, view.categoryNames.size(), buckets);
+
+            if (candidates == null) {
+                for (int row = 0; row < view.size; row++) {
+                    tally.add(view, row);
+                }
+            } else {
+                for (Long id : candidates) {
+                    int row = Arrays.binarySearch(view.ids, 0, view.size, id);
+                    if (row >= 0) {
+                        tally.add(view, row);
+                    }
+                }
+            }
+            return tally.toResponse(view);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexAfterCommit(Product product) {
+        long id = product.getId();
+        String name = product.getName();
+        String category = product.getCategory();
+        long cents = cents(product.getPrice(), RoundingMode.HALF_UP);
+        afterCommit(id, target -> target.upsert(id, name, category, cents));
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(id, target -> target.remove(id));
+    }
+
+    /** Recarrega do banco; mudanças confirmadas durante a carga são reaplicadas na visão nova. */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${products.facets.rebuild-interval-ms:3600000}",
+            initialDelayString = "${products.facets.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long begin = System.nanoTime();
+        long upToId = productRepository.findMaxId().orElse(0L);
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns fresh = new Columns();
+        try {
+            load(0, upToId, fresh);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            columns = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedUpToId = upToId;
+        log.info("🧱 Visão de facetas carregada: {} produtos, {} categorias em {} ms",
+                fresh.size, fresh.categoryNames.size(), (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    /**
+     * Traz produtos criados por outras instâncias. Produtos alterados aqui durante a leitura ficam
+     * de fora: a linha lida pode já ser de antes da mudança.
+     */
+    @Scheduled(fixedDelayString = "${products.facets.sync-interval-ms:5000}",
+            initialDelayString = "${products.facets.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        long upToId = productRepository.findMaxId().orElse(0L);
+        long afterId = Math.max(0, syncedUpToId - SYNC_OVERLAP_IDS);
+        if (upToId <= afterId) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changedDuringSync = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Lê fora do lock; as contagens só esperam a aplicação
+        Columns recent = new Columns();
+        try {
+            load(afterId, upToId, recent);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringSync = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (int row = 0; row < recent.size; row++) {
+                if (changedDuringSync.contains(recent.ids[row])) {
+                    continue;
+                }
+                int code = recent.categories[row];
+                columns.upsertFolded(recent.ids[row], recent.names[row],
+                        code == NO_CATEGORY ? null : recent.categoryNames.get(code), recent.prices[row]);
+            }
+            changedDuringSync = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedUpToId = Math.max(syncedUpToId, upToId);
+    }
+
+    private void load(long afterId, long upToId, Columns target) {
+        if (upToId <= afterId) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductFacetRow> rows = productRepository.streamFacetRowsBetween(afterId, upToId)) {
+                rows.forEach(p -> target.upsert(p.getId(), p.getName(), p.getCategory(),
+                        cents(p.getPrice(), RoundingMode.HALF_UP)));
+            }
+        });
+    }
+
+    private void afterCommit(long id, Consumer<Columns> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(id, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(id, change);
+            }
+        });
+    }
+
+    private void apply(long id, Consumer<Columns> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(columns);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            if (changedDuringSync != null) {
+                changedDuringSync.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int rows() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long cents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    /** Contadores de uma consulta; cada linha passa uma vez e alimenta as três contagens. */
+    private static final class Tally {
+
+        private final String needle;
+        private final int category;
+        private final long min;
+        private final long max;
+        private final long low;
+        private final long width;
+        private final long[] byCategory;
+        private final long[] histogram;
+        private long total;
+
+        Tally(String needle, int category, long min, long max, long low, long width, int categories, int buckets) {
+            this.needle = needle;
+            this.category = category;
+            this.min = min;
+            this.max = max;
+            this.low = low;
+            this.width = width;
+            this.byCategory = new long[categories];
+            this.histogram = new long[buckets];
+        }
+
+        void add(Columns view, int row) {
+            if (needle != null && !view.names[row].contains(needle)) {
+                return;
+            }
+            long price = view.prices[row];
+            int code = view.categories[row];
+            boolean priceMatches = price >= min && price <= max;
+            boolean categoryMatches = category == NO_CATEGORY || code == category;
+            if (priceMatches && code != NO_CATEGORY) {
+                byCategory[code]++;
+            }
+            if (categoryMatches) {
+                histogram[(int) Math.min((price - low) / width, histogram.length - 1)]++;
+            }
+            if (priceMatches && categoryMatches) {
+                total++;
+            }
+        }
+
+        ProductFacetsResponse toResponse(Columns view) {
+            List<ProductFacetsResponse.CategoryCount> categories = new ArrayList<>();
+            for (int code = 0; code < byCategory.length; code++) {
+                if (byCategory[code] > 0) {
+                    categories.add(new ProductFacetsResponse.CategoryCount(view.categoryNames.get(code), byCategory[code]));
+                }
+            }
+            categories.sort(Comparator.comparingLong(ProductFacetsResponse.CategoryCount::getCount).reversed()
+                    .thenComparing(ProductFacetsResponse.CategoryCount::getCategory));
+
+            List<ProductFacetsResponse.PriceBucket> prices = new ArrayList<>(histogram.length);
+            for (int i = 0; i < histogram.length; i++) {
+                prices.add(new ProductFacetsResponse.PriceBucket(
+                        BigDecimal.valueOf(low + i * width, 2),
+                        BigDecimal.valueOf(low + (i + 1) * width, 2),
+                        histogram[i]));
+            }
+            return new ProductFacetsResponse(total, categories, prices);
+        }
+    }
+
+    /** Uma posição por produto em cada array; categorias viram códigos que nunca são reaproveitados. */
+    private static final class Columns {
+
+        private long[] ids = new long[16];
+        private String[] names = new String[16];
+        private int[] categories = new int[16];
+        private long[] prices = new long[16];
+        private int size;
+        private final List<String> categoryNames = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        // Só crescem até a próxima reconstrução
+        private long minCents = Long.MAX_VALUE;
+        private long maxCents = Long.MIN_VALUE;
+
+        void upsert(long id, String name, String category, long cents) {
+            upsertFolded(id, ProductNameIndex.fold(name), category, cents);
+        }
+
+        void upsertFolded(long id, String foldedName, String category, long cents) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                // Ids novos quase sempre entram no fim
+                at = -at - 1;
+                if (size == ids.length) {
+                    int capacity = size + (size >> 1);
+                    ids = Arrays.copyOf(ids, capacity);
+                    names = Arrays.copyOf(names, capacity);
+                    categories = Arrays.copyOf(categories, capacity);
+                    prices = Arrays.copyOf(prices, capacity);
+                }
+                System.arraycopy(ids, at, ids, at + 1, size - at);
+                System.arraycopy(names, at, names, at + 1, size - at);
+                System.arraycopy(categories, at, categories, at + 1, size - at);
+                System.arraycopy(prices, at, prices, at + 1, size - at);
+                size++;
+            }
+            ids[at] = id;
+            names[at] = foldedName;
+            categories[at] = category == null ? NO_CATEGORY : codes.computeIfAbsent(category, c -> {
+                categoryNames.add(c);
+                return categoryNames.size() - 1;
+            });
+            prices[at] = cents;
+            minCents = Math.min(minCents, cents);
+            maxCents = Math.max(maxCents, cents);
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(names, at + 1, names, at, size - at - 1);
+            System.arraycopy(categories, at + 1, categories, at, size - at - 1);
+            System.arraycopy(prices, at + 1, prices, at, size - at - 1);
+            size--;
+            names[size] = null;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.repository.ProductName;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice invertido de trigramas dos nomes de produto. Um "nome contém x" vira a interseção das
+ * listas de ids dos trigramas de x; o banco só relê esses candidatos, com o LIKE de sempre para
+ * descartar os que têm os trigramas fora de ordem. O texto é comparado sem caixa e sem acentos,
+ * então os candidatos cobrem tudo o que o LIKE do banco aceitaria.
+ * Escritas desta instância entram depois do commit; produtos criados por outras chegam no
+ * {@link #sync()}, e renomeações feitas por elas só na próxima reconstrução.
+ */
+@Slf4j
+@Component
+public class ProductNameIndex {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    // Ids IDENTITY podem ser confirmados fora de ordem; relê uma janela antes do último visto
+    private static final long SYNC_OVERLAP_IDS = 1000;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxCandidates;
+    private final Counter indexed;
+    private final Counter tooMany;
+    private final Counter shortQuery;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guardados pelo lock
+    private Map<Long, Postings> postings = new HashMap<>();
+    private List<Consumer<Map<Long, Postings>>> pendingDuringRebuild;
+    private boolean ready;
+    private volatile long syncedUpToId;
+
+    public ProductNameIndex(ProductRepository productRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${products.name-index.max-candidates:5000}") int maxCandidates) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxCandidates = maxCandidates;
+
+        this.indexed = Counter.builder("products_name_index_lookups_total").tag("result", "indexed")
+                .register(meterRegistry);
+        this.tooMany = Counter.builder("products_name_index_lookups_total").tag("result", "too_many")
+                .register(meterRegistry);
+        this.shortQuery = Counter.builder("products_name_index_lookups_total").tag("result", "short_query")
+                .register(meterRegistry);
+        Gauge.builder("products_name_index_trigrams", this, ProductNameIndex::trigrams)
+                .register(meterRegistry);
+        Gauge.builder("products_name_index_bytes", this, ProductNameIndex::memoryBytes)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids dos produtos cujo nome pode conter {@code text}, em ordem crescente.
+     *
+     * @return {@code null} quando o índice não ajuda (texto com menos de 3 letras, índice ainda
+     * carregando ou mais de {@code max-candidates} candidatos) e o LIKE deve varrer sozinho
+     */
+    public List<Long> candidates(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        long[] grams = trigramsOf(fold(text));
+        if (grams.length == 0) {
+            shortQuery.increment();
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return null;
+            }
+            List<Postings> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    indexed.increment();
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Percorre a lista mais curta e confirma cada id nas demais
+            lists.sort(Comparator.comparingInt(p -> p.size));
+            Postings shortest = lists.get(0);
+            long[] matches = new long[Math.min(shortest.size, maxCandidates)];
+            int found = 0;
+            next:
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                for (int l = 1; l < lists.size(); l++) {
+                    if (!lists.get(l).contains(id)) {
+                        continue next;
+                    }
+                }
+                if (found == maxCandidates) {
+                    tooMany.increment();
+                    return null;
+                }
+                matches[found++] = id;
+            }
+            indexed.increment();
+            return Arrays.stream(matches, 0, found).boxed().toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica a mudança de nome depois do commit.
+     *
+     * @param previousName {@code null} para produto novo
+     * @param currentName  {@code null} para produto excluído
+     */
+    public void changedAfterCommit(Long id, String previousName, String currentName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(id, previousName, currentName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(id, previousName, currentName);
+            }
+        });
+    }
+
+    /** Recarrega do banco; mudanças confirmadas durante a carga são reaplicadas no índice novo. */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${products.name-index.rebuild-interval-ms:3600000}",
+            initialDelayString = "${products.name-index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long begin = System.nanoTime();
+        long upToId = productRepository.findMaxId().orElse(0L);
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Postings> fresh = new HashMap<>();
+        long loaded;
+        try {
+            loaded = load(0, upToId, fresh);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        fresh.values().forEach(Postings::trim);
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            postings = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedUpToId = upToId;
+        log.info("🧱 Índice de nomes de produto carregado: {} produtos, {} trigramas, {} KB em {} ms",
+                loaded, fresh.size(), memoryBytes() / 1024, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    /** Traz produtos criados por outras instâncias. */
+    @Scheduled(fixedDelayString = "${products.name-index.sync-interval-ms:5000}",
+            initialDelayString = "${products.name-index.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        long upToId = productRepository.findMaxId().orElse(0L);
+        long afterId = Math.max(0, syncedUpToId - SYNC_OVERLAP_IDS);
+        if (upToId <= afterId) {
+            return;
+        }
+        // Lê fora do lock; as buscas só esperam a aplicação
+        Map<Long, Postings> recent = new HashMap<>();
+        load(afterId, upToId, recent);
+
+        lock.writeLock().lock();
+        try {
+            recent.forEach((gram, list) -> {
+                Postings target = postings.computeIfAbsent(gram, g -> new Postings());
+                for (int i = 0; i < list.size; i++) {
+                    target.add(list.ids[i]);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedUpToId = Math.max(syncedUpToId, upToId);
+    }
+
+    private long load(long afterId, long upToId, Map<Long, Postings> target) {
+        if (upToId <= afterId) {
+            return 0;
+        }
+        Long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<ProductName> names = productRepository.streamNamesBetween(afterId, upToId)) {
+                for (ProductName product : (Iterable<ProductName>) names::iterator) {
+                    for (long gram : trigramsOf(fold(product.getName()))) {
+                        target.computeIfAbsent(gram, g -> new Postings()).add(product.getId());
+                    }
+                    count++;
+                }
+            }
+            return count;
+        });
+        return loaded == null ? 0 : loaded;
+    }
+
+    private void apply(Long id, String previousName, String currentName) {
+        long[] removed = previousName == null ? new long[0] : trigramsOf(fold(previousName));
+        long[] added = currentName == null ? new long[0] : trigramsOf(fold(currentName));
+        // Só sai o que o nome novo não tem: reaplicar a mesma mudança não altera o resultado
+        Consumer<Map<Long, Postings>> change = target -> {
+            for (long gram : removed) {
+                if (Arrays.binarySearch(added, gram) < 0) {
+                    Postings list = target.get(gram);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        target.remove(gram);
+                    }
+                }
+            }
+            for (long gram : added) {
+                target.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        };
+
+        lock.writeLock().lock();
+        try {
+            change.accept(postings);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int trigrams() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            // Entrada do mapa + chave + objeto da lista + array
+            long bytes = 0;
+            for (Postings list : postings.values()) {
+                bytes += 96 + 8L * list.ids.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        return ACCENTS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /** Trigramas distintos, em ordem, com os três caracteres empacotados num long. */
+    static long[] trigramsOf(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    /** Ids em ordem crescente; ids novos quase sempre entram no fim. */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int at = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                at = -at - 1;
+            } else if (at < size) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        void trim() {
+            ids = Arrays.copyOf(ids, Math.max(size, 1));
+        }
+    }
+}
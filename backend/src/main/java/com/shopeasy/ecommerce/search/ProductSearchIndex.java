@@ -0,0 +1,419 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.ProductSearchRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice Lucene em disco de nome, descrição e categoria dos produtos, para busca com relevância
+ * e tolerância a erros de digitação. Escritas desta instância entram depois do commit e ficam
+ * visíveis na hora; produtos criados por outras instâncias chegam no {@link #sync()}. A
+ * reconstrução regrava tudo com uma geração nova e só então apaga a antiga, então as buscas
+ * nunca veem o índice pela metade.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String GENERATION = "generation";
+    private static final String SYNCED_UP_TO_ID = "synced_up_to_id";
+    // Ids IDENTITY podem ser confirmados fora de ordem; relê uma janela antes do último visto
+    private static final long SYNC_OVERLAP_IDS = 1000;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxResults;
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Timer searchTimer;
+
+    private final Object changeLock = new Object();
+    // Guardado por changeLock: produtos alterados aqui enquanto uma carga lê o banco
+    private Set<Long> changedDuringLoad;
+    private volatile long generation;
+    private volatile long syncedUpToId;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${products.search.index-path:data/product-index}") String indexPath,
+                              @Value("${products.search.max-results:100}") int maxResults) throws IOException {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxResults = maxResults;
+
+        Path path = Path.of(indexPath);
+        Files.createDirectories(path);
+        this.directory = FSDirectory.open(path);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        // Retoma de onde o último commit parou
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (GENERATION.equals(entry.getKey())) {
+                    generation = Long.parseLong(entry.getValue());
+                } else if (SYNCED_UP_TO_ID.equals(entry.getKey())) {
+                    syncedUpToId = Long.parseLong(entry.getValue());
+                }
+            }
+        }
+
+        this.searchTimer = Timer.builder("products_search_latency")
+                .description("Tempo de uma busca no índice textual")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("products_search_documents", writer, w -> w.getDocStats().numDocs)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Índice novo é carregado do banco; um já existente só recebe o que foi criado desde o último commit.
+     * Se o banco está atrás do índice (restaurado ou recriado), os ids não batem mais e recarrega tudo.
+     */
+    @PostConstruct
+    void open() {
+        long maxId = productRepository.findMaxId().orElse(0L);
+        if (generation == 0) {
+            rebuild();
+        } else if (syncedUpToId > maxId) {
+            log.warn("⚠️ Índice de busca sincronizado até o id {}, mas o banco vai até {}: recarregando",
+                    syncedUpToId, maxId);
+            rebuild();
+        } else {
+            sync();
+            log.info("🔎 Índice de busca aberto: {} documentos, geração {}", writer.getDocStats().numDocs, generation);
+        }
+    }
+
+    /**
+     * Ids dos produtos que melhor atendem ao texto, do mais relevante ao menos. Cada palavra pode
+     * casar com nome, categoria ou descrição, por inteiro, como prefixo ou com até duas letras
+     * trocadas. Com três palavras ou mais, basta casar todas menos uma.
+     */
+    public List<Long> search(String text, int limit) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Query query = buildQuery(terms);
+        return searchTimer.record(() -> {
+            try {
+                IndexSearcher searcher = searcherManager.acquire();
+                try {
+                    ScoreDoc[] hits = searcher.search(query, Math.min(limit, maxResults)).scoreDocs;
+                    StoredFields stored = searcher.storedFields();
+                    List<Long> ids = new ArrayList<>(hits.length);
+                    for (ScoreDoc hit : hits) {
+                        ids.add(Long.parseLong(stored.document(hit.doc).get(ID)));
+                    }
+                    return ids;
+                } finally {
+                    searcherManager.release(searcher);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void indexAfterCommit(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        String description = product.getDescription();
+        String category = product.getCategory();
+        // O documento só é montado no commit, com a geração em vigor naquele momento
+        afterCommit(() -> {
+            synchronized (changeLock) {
+                writer.updateDocument(new Term(ID, id.toString()), document(id, name, description, category));
+                markChanged(id);
+            }
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> {
+            synchronized (changeLock) {
+                writer.deleteDocuments(new Term(ID, id.toString()));
+                markChanged(id);
+            }
+            searcherManager.maybeRefresh();
+        });
+    }
+
+    /**
+     * Regrava todos os produtos numa geração nova e apaga os documentos das anteriores, inclusive
+     * os de produtos que não existem mais.
+     *
+     * @return quantidade de produtos indexados
+     */
+    public synchronized long rebuild() {
+        long begin = System.nanoTime();
+        long upToId = productRepository.findMaxId().orElse(0L);
+        long previous = generation;
+        // Escritas concorrentes já saem com a geração nova e sobrevivem à limpeza
+        generation = previous + 1;
+        try {
+            long indexed = load(0, upToId);
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, previous));
+            syncedUpToId = upToId;
+            commit();
+            searcherManager.maybeRefresh();
+            log.info("🧱 Índice de busca reconstruído: {} produtos em {} ms, geração {}",
+                    indexed, (System.nanoTime() - begin) / 1_000_000, generation);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${products.search.rebuild-interval-ms:86400000}",
+            initialDelayString = "${products.search.rebuild-interval-ms:86400000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /** Traz produtos criados por outras instâncias; renomeações feitas por elas só na reconstrução. */
+    @Scheduled(fixedDelayString = "${products.search.sync-interval-ms:5000}",
+            initialDelayString = "${products.search.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        long upToId = productRepository.findMaxId().orElse(0L);
+        long afterId = Math.max(0, syncedUpToId - SYNC_OVERLAP_IDS);
+        if (upToId <= afterId) {
+            return;
+        }
+        try {
+            load(afterId, upToId);
+            syncedUpToId = Math.max(syncedUpToId, upToId);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Torna as escritas duráveis; até lá elas já aparecem nas buscas, mas não sobrevivem a uma queda. */
+    @Scheduled(fixedDelayString = "${products.search.commit-interval-ms:10000}")
+    public synchronized void commit() throws IOException {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        writer.setLiveCommitData(Map.of(
+                GENERATION, Long.toString(generation),
+                SYNCED_UP_TO_ID, Long.toString(syncedUpToId)).entrySet());
+        writer.commit();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Uma linha lida pode ser anterior a uma alteração feita aqui durante a carga; regravá-la
+     * desfaria a alteração (e ressuscitaria produtos excluídos), então esses produtos são pulados.
+     */
+    private long load(long afterId, long upToId) {
+        if (upToId <= afterId) {
+            return 0;
+        }
+        synchronized (changeLock) {
+            changedDuringLoad = new HashSet<>();
+        }
+        try {
+            Long loaded = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<ProductSearchRow> rows = productRepository.streamSearchRowsBetween(afterId, upToId)) {
+                    for (ProductSearchRow row : (Iterable<ProductSearchRow>) rows::iterator) {
+                        synchronized (changeLock) {
+                            if (changedDuringLoad.contains(row.getId())) {
+                                continue;
+                            }
+                            writer.updateDocument(new Term(ID, row.getId().toString()),
+                                    document(row.getId(), row.getName(), row.getDescription(), row.getCategory()));
+                        }
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            return loaded == null ? 0 : loaded;
+        } finally {
+            synchronized (changeLock) {
+                changedDuringLoad = null;
+            }
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(id);
+        }
+    }
+
+    private Document document(Long id, String name, String description, String category) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new LongPoint(GENERATION, generation));
+        document.add(new TextField(NAME, name, Field.Store.NO));
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        }
+        if (category != null) {
+            document.add(new TextField(CATEGORY, category, Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static Query buildQuery(List<String> terms) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            // Nome pesa mais que categoria, que pesa mais que descrição; o termo exato vale mais que o aproximado
+            BooleanQuery.Builder word = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, term)), 4f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(NAME, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(CATEGORY, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            int edits = maxEdits(term);
+            if (edits > 0) {
+                word.add(new BoostQuery(new FuzzyQuery(new Term(NAME, term), edits, 1), 2f), BooleanClause.Occur.SHOULD);
+                word.add(new BoostQuery(new FuzzyQuery(new Term(DESCRIPTION, term), edits, 1), 0.5f),
+                        BooleanClause.Occur.SHOULD);
+            }
+            query.add(word.build(), BooleanClause.Occur.SHOULD);
+        }
+        // Até duas palavras, todas precisam casar; a partir de três, uma pode faltar
+        int required = terms.size() <= 2 ? terms.size() : terms.size() - 1;
+        return query.setMinimumNumberShouldMatch(required).build();
+    }
+
+    // Palavras curtas com erro casariam com quase tudo
+    private static int maxEdits(String term) {
+        if (term.length() <= 3) {
+            return 0;
+        }
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    private List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private void afterCommit(IndexChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private static void apply(IndexChange change) {
+        try {
+            change.run();
+        } catch (IOException e) {
+            // O produto já foi gravado; a próxima reconstrução corrige o índice
+            log.error("❌ Falha ao atualizar o índice de busca: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void run() throws IOException;
+    }
+
+    /** Minúsculas e sem acentos, na indexação e na busca. */
+    private static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
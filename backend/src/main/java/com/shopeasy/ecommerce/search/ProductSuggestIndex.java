@@ -0,0 +1,534 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.model.OrderStatus;
+import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.ProductName;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.ProductSales;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Autocompletar de nomes de produto: trie radix (arestas de vários caracteres) sobre o nome sem
+ * caixa e sem acentos, com peso igual às unidades vendidas. Todo nó com mais de
+ * {@code max-results} produtos abaixo dele guarda os melhores da subárvore, então uma sugestão
+ * custa só a descida pelo prefixo; nós menores não guardam nada e são percorridos na hora.
+ * Escritas desta instância entram depois do commit; produtos criados por outras chegam no
+ * {@link #sync()}, e renomeações feitas por elas e a popularidade só na próxima reconstrução.
+ */
+@Slf4j
+@Component
+public class ProductSuggestIndex {
+
+    // Ids IDENTITY podem ser confirmados fora de ordem; relê uma janela antes do último visto
+    private static final long SYNC_OVERLAP_IDS = 1000;
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::name)
+            .thenComparingLong(Suggestion::id);
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guardados pelo lock
+    private Node root = new Node(NO_CHARS);
+    private Map<Long, Long> unitsSold = Map.of();
+    private List<Consumer<Node>> pendingDuringRebuild;
+    private Set<Long> changedDuringSync;
+    private volatile long syncedUpToId;
+
+    public ProductSuggestIndex(ProductRepository productRepository,
+                               OrderRepository orderRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${products.suggest.max-results:10}") int maxResults) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxResults = maxResults;
+
+        Gauge.builder("products_suggest_entries", this, ProductSuggestIndex::entries)
+                .register(meterRegistry);
+        Gauge.builder("products_suggest_bytes", this, ProductSuggestIndex::memoryBytes)
+                .register(meterRegistry);
+    }
+
+    public record Suggestion(long id, String name, long weight) {
+    }
+
+    /** Até {@code limit} produtos cujo nome começa com {@code prefix}, dos mais vendidos aos menos. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String key = ProductNameIndex.fold(prefix.stripLeading());
+        int wanted = Math.min(limit, maxResults);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int at = 0;
+            while (at < key.length()) {
+                Node child = node.child(key.charAt(at));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = child.commonPrefix(key, at);
+                // O prefixo pode acabar no meio da aresta, mas não divergir dela
+                if (common < child.label.length && at + common < key.length()) {
+                    return List.of();
+                }
+                node = child;
+                at += common;
+            }
+            Suggestion[] ranked = node.top != null ? node.top : collect(node);
+            return List.of(Arrays.copyOf(ranked, Math.min(wanted, ranked.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica a mudança de nome depois do commit.
+     *
+     * @param previousName {@code null} para produto novo
+     * @param currentName  {@code null} para produto excluído
+     */
+    public void changedAfterCommit(Long id, String previousName, String currentName) {
+        if (Objects.equals(previousName, currentName)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(id, previousName, currentName);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(id, previousName, currentName);
+            }
+        });
+    }
+
+    /** Recarrega nomes e vendas; mudanças confirmadas durante a carga são reaplicadas na trie nova. */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${products.suggest.rebuild-interval-ms:3600000}",
+            initialDelayString = "${products.suggest.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long begin = System.nanoTime();
+        long upToId = productRepository.findMaxId().orElse(0L);
+        Map<Long, Long> sold = loadUnitsSold();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Node fresh = new Node(NO_CHARS);
+        try {
+            // Os melhores de cada nó são calculados uma vez no fim, não a cada inserção
+            for (Suggestion suggestion : load(0, upToId, sold)) {
+                insert(fresh, key(suggestion.name()), suggestion, false);
+            }
+            computeTops(fresh);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            unitsSold = sold;
+            pendingDuringRebuild.forEach(change -> change.accept(fresh));
+            pendingDuringRebuild = null;
+            root = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedUpToId = upToId;
+        log.info("🧱 Índice de sugestões carregado: {} produtos, {} KB em {} ms",
+                entries(), memoryBytes() / 1024, (System.nanoTime() - begin) / 1_000_000);
+    }
+
+    /**
+     * Traz produtos criados por outras instâncias. Produtos alterados aqui durante a leitura ficam
+     * de fora: a linha lida pode já ser de antes da exclusão ou da renomeação.
+     */
+    @Scheduled(fixedDelayString = "${products.suggest.sync-interval-ms:5000}",
+            initialDelayString = "${products.suggest.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        long upToId = productRepository.findMaxId().orElse(0L);
+        long afterId = Math.max(0, syncedUpToId - SYNC_OVERLAP_IDS);
+        if (upToId <= afterId) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changedDuringSync = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Lê fora do lock; as sugestões só esperam a aplicação
+        List<Suggestion> recent;
+        try {
+            recent = load(afterId, upToId, unitsSold);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringSync = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Suggestion suggestion : recent) {
+                if (!changedDuringSync.contains(suggestion.id())) {
+                    insert(root, key(suggestion.name()), suggestion, true);
+                }
+            }
+            changedDuringSync = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedUpToId = Math.max(syncedUpToId, upToId);
+    }
+
+    private List<Suggestion> load(long afterId, long upToId, Map<Long, Long> sold) {
+        if (upToId <= afterId) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            List<Suggestion> loaded = new ArrayList<>();
+            try (Stream<ProductName> names = productRepository.streamNamesBetween(afterId, upToId)) {
+                names.forEach(p -> loaded.add(new Suggestion(p.getId(), p.getName(), sold.getOrDefault(p.getId(), 0L))));
+            }
+            return loaded;
+        });
+    }
+
+    private Map<Long, Long> loadUnitsSold() {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Long> sold = new HashMap<>();
+            for (ProductSales sales : orderRepository.sumUnitsByProduct(OrderStatus.CANCELED)) {
+                sold.put(sales.getProductId(), sales.getUnits());
+            }
+            return sold;
+        });
+    }
+
+    private void apply(Long id, String previousName, String currentName) {
+        // Renomear mantém o peso; reaplicar a mesma mudança não altera o resultado
+        Consumer<Node> change = target -> {
+            Suggestion previous = previousName == null ? null : remove(target, key(previousName), id);
+            if (currentName != null) {
+                long weight = previous != null ? previous.weight() : unitsSold.getOrDefault(id, 0L);
+                insert(target, key(currentName), new Suggestion(id, currentName, weight), true);
+            }
+        };
+
+        lock.writeLock().lock();
+        try {
+            change.accept(root);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+            if (changedDuringSync != null) {
+                changedDuringSync.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Um produto já presente na mesma chave só tem o nome trocado, com o peso que já tinha. */
+    private void insert(Node target, String key, Suggestion suggestion, boolean keepTops) {
+        List<Node> path = new ArrayList<>();
+        Node node = target;
+        path.add(node);
+        int at = 0;
+        while (at < key.length()) {
+            Node child = node.child(key.charAt(at));
+            if (child == null) {
+                child = new Node(key.substring(at).toCharArray());
+                node.addChild(child);
+                at = key.length();
+            } else {
+                int common = child.commonPrefix(key, at);
+                if (common < child.label.length) {
+                    child = node.split(child, common);
+                }
+                at += common;
+            }
+            node = child;
+            path.add(node);
+        }
+
+        for (int i = 0; i < node.entries.length; i++) {
+            Suggestion existing = node.entries[i];
+            if (existing.id() == suggestion.id()) {
+                if (existing.name().equals(suggestion.name())) {
+                    return;
+                }
+                node.entries[i] = new Suggestion(existing.id(), suggestion.name(), existing.weight());
+                if (keepTops) {
+                    refreshTops(path);
+                }
+                return;
+            }
+        }
+        node.entries = Arrays.copyOf(node.entries, node.entries.length + 1);
+        node.entries[node.entries.length - 1] = suggestion;
+        path.forEach(n -> n.size++);
+        if (keepTops) {
+            refreshTops(path);
+        }
+    }
+
+    /** @return o produto removido, ou {@code null} se ele não estava nessa chave */
+    private Suggestion remove(Node target, String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = target;
+        path.add(node);
+        int at = 0;
+        while (at < key.length()) {
+            Node child = node.child(key.charAt(at));
+            if (child == null || child.commonPrefix(key, at) < child.label.length) {
+                return null;
+            }
+            at += child.label.length;
+            node = child;
+            path.add(node);
+        }
+
+        int index = -1;
+        for (int i = 0; i < node.entries.length; i++) {
+            if (node.entries[i].id() == id) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return null;
+        }
+        Suggestion removed = node.entries[index];
+        Suggestion[] remaining = new Suggestion[node.entries.length - 1];
+        System.arraycopy(node.entries, 0, remaining, 0, index);
+        System.arraycopy(node.entries, index + 1, remaining, index, remaining.length - index);
+        node.entries = remaining.length == 0 ? NO_SUGGESTIONS : remaining;
+        path.forEach(n -> n.size--);
+
+        // Nó vazio sai da trie; nó sem produtos com um só filho absorve o filho
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (current.entries.length == 0 && current.children.length == 0) {
+                path.get(i - 1).removeChild(current);
+            } else if (current.entries.length == 0 && current.children.length == 1) {
+                current.absorbChild();
+            }
+        }
+        refreshTops(path);
+        return removed;
+    }
+
+    private void refreshTops(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            computeTop(path.get(i));
+        }
+    }
+
+    private void computeTops(Node node) {
+        for (Node child : node.children) {
+            computeTops(child);
+        }
+        computeTop(node);
+    }
+
+    private void computeTop(Node node) {
+        if (node.size <= maxResults) {
+            node.top = null;
+            return;
+        }
+        List<Suggestion> candidates = new ArrayList<>();
+        Collections.addAll(candidates, node.entries);
+        for (Node child : node.children) {
+            if (child.top != null) {
+                Collections.addAll(candidates, child.top);
+            } else {
+                gather(child, candidates);
+            }
+        }
+        candidates.sort(BEST_FIRST);
+        node.top = candidates.subList(0, maxResults).toArray(NO_SUGGESTIONS);
+    }
+
+    private static Suggestion[] collect(Node node) {
+        List<Suggestion> all = new ArrayList<>(node.size);
+        gather(node, all);
+        all.sort(BEST_FIRST);
+        return all.toArray(NO_SUGGESTIONS);
+    }
+
+    private static void gather(Node node, List<Suggestion> target) {
+        Collections.addAll(target, node.entries);
+        for (Node child : node.children) {
+            gather(child, target);
+        }
+    }
+
+    private static String key(String name) {
+        return ProductNameIndex.fold(name.strip());
+    }
+
+    private int entries() {
+        lock.readLock().lock();
+        try {
+            return root.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return bytes(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long bytes(Node node) {
+        // Objeto do nó e seus arrays; cada produto conta o registro e o nome
+        long bytes = 48 + array(2L * node.label.length) + array(2L * node.keys.length)
+                + array(4L * node.children.length) + array(4L * node.entries.length)
+                + (node.top == null ? 0 : array(4L * node.top.length));
+        for (Suggestion suggestion : node.entries) {
+            bytes += 32 + 40 + suggestion.name().length();
+        }
+        for (Node child : node.children) {
+            bytes += bytes(child);
+        }
+        return bytes;
+    }
+
+    private static long array(long payload) {
+        return payload == 0 ? 0 : 16 + (payload + 7) / 8 * 8;
+    }
+
+    /** Filhos indexados pelo primeiro caractere da aresta, em ordem. */
+    private static final class Node {
+
+        private char[] label;
+        private char[] keys = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private Suggestion[] entries = NO_SUGGESTIONS;
+        // Produtos na subárvore; os melhores só ficam guardados acima de max-results
+        private int size;
+        private Suggestion[] top;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int at = Arrays.binarySearch(keys, first);
+            return at < 0 ? null : children[at];
+        }
+
+        int commonPrefix(String key, int from) {
+            int max = Math.min(label.length, key.length() - from);
+            int i = 0;
+            while (i < max && label[i] == key.charAt(from + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        void addChild(Node child) {
+            int at = -Arrays.binarySearch(keys, child.label[0]) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = child.label[0];
+            newChildren[at] = child;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        void removeChild(Node child) {
+            int at = Arrays.binarySearch(keys, child.label[0]);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, newKeys.length - at);
+            System.arraycopy(children, at + 1, newChildren, at, newChildren.length - at);
+            keys = newKeys.length == 0 ? NO_CHARS : newKeys;
+            children = newChildren.length == 0 ? NO_NODES : newChildren;
+        }
+
+        /** Quebra a aresta do filho depois de {@code common} caracteres e devolve o nó do meio. */
+        Node split(Node child, int common) {
+            Node middle = new Node(Arrays.copyOf(child.label, common));
+            child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+            middle.keys = new char[]{child.label[0]};
+            middle.children = new Node[]{child};
+            middle.size = child.size;
+            middle.top = child.top;
+            children[Arrays.binarySearch(keys, middle.label[0])] = middle;
+            return middle;
+        }
+
+        void absorbChild() {
+            Node only = children[0];
+            char[] merged = Arrays.copyOf(label, label.length + only.label.length);
+            System.arraycopy(only.label, 0, merged, label.length, only.label.length);
+            label = merged;
+            keys = only.keys;
+            children = only.children;
+            entries = only.entries;
+            top = only.top;
+        }
+    }
+}
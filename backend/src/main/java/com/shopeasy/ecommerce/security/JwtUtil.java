@@ -2,6 +2,7 @@ package com.shopeasy.ecommerce.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
@@ -10,7 +11,10 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,13 +24,31 @@ import org.springframework.security.core.userdetails.UserDetails;
 @ConfigurationProperties(prefix = "jwt")
 public class JwtUtil {
 
+    public static final String TYPE_CLAIM = "typ";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String REFRESH_TYPE = "refresh";
+
     @NotBlank
     private String secret;
     private long accessTokenExpirationMs;
     private long refreshTokenExpirationMs;
 
+    // Derivados do secret uma única vez; o parser é imutável e pode ser compartilhado entre threads
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SecretKey signingKey;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
     public SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     public String generateToken(UserDetails user) {
@@ -40,9 +62,16 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
+    /**
+     * Refresh token da família {@code familyId}. O {@code jti} identifica este token na rotação
+     * e o {@code typ} impede que ele seja aceito como token de acesso.
+     */
+    public String generateRefreshToken(UserDetails userDetails, String tokenId, String familyId) {
         return Jwts.builder()
+                .id(tokenId)
                 .subject(userDetails.getUsername())
+                .claim(TYPE_CLAIM, REFRESH_TYPE)
+                .claim(FAMILY_CLAIM, familyId)
                 .claim("roles", userDetails.getAuthorities()
                         .stream()
                         .map(GrantedAuthority::getAuthority)
@@ -53,20 +82,24 @@ public class JwtUtil {
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifica assinatura e expiração e devolve as claims.
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String getUsernameFromToken(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public List<String> getRolesFromToken(String token) {
-        Claims claims = extractAllClaims(token);
+        return getRoles(parseClaims(token));
+    }
+
+    public List<String> getRoles(Claims claims) {
         Object rolesObj = claims.get("roles");
 
         if (rolesObj instanceof List<?>) {
@@ -86,13 +119,13 @@ public class JwtUtil {
     }
 
     public boolean isTokenExpired(String token) {
-        Date expiration = extractAllClaims(token).getExpiration();
+        Date expiration = parseClaims(token).getExpiration();
         return expiration.before(new Date());
     }
 
     public boolean isTokenValid(String token) {
         try {
-            extractAllClaims(token);
+            parseClaims(token);
             return true;
         } catch (Exception e) {
             return false;
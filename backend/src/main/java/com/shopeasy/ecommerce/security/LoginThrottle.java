@@ -0,0 +1,117 @@
+package com.shopeasy.ecommerce.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopeasy.ecommerce.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token buckets por username e por IP, consultados antes de qualquer hash de senha.
+ * Cada espaço de chaves é um cache Caffeine limitado: um bucket parado pelo tempo de encher
+ * de novo expira sozinho e, cheio, o cache descarta os menos usados, sem varrer o mapa no login.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> byUsername;
+    private final Cache<String, TokenBucket> byIp;
+    private final int usernameCapacity;
+    private final double usernameRefillPerSecond;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final Counter throttledUsername;
+    private final Counter throttledIp;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.throttle.username.capacity:5}") int usernameCapacity,
+                         @Value("${auth.throttle.username.refill-per-minute:5}") int usernameRefillPerMinute,
+                         @Value("${auth.throttle.ip.capacity:30}") int ipCapacity,
+                         @Value("${auth.throttle.ip.refill-per-minute:30}") int ipRefillPerMinute,
+                         @Value("${auth.throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerSecond = usernameRefillPerMinute / 60.0;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerMinute / 60.0;
+        this.byUsername = buckets(maxTrackedKeys, usernameCapacity, usernameRefillPerMinute);
+        this.byIp = buckets(maxTrackedKeys, ipCapacity, ipRefillPerMinute);
+        this.throttledUsername = Counter.builder("auth_throttled_total").tag("by", "username").register(meterRegistry);
+        this.throttledIp = Counter.builder("auth_throttled_total").tag("by", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Consome uma ficha do IP e do username.
+     *
+     * @throws TooManyRequestsException se qualquer um dos dois estiver sem fichas
+     */
+    public void acquire(String username, String ip) {
+        long now = System.nanoTime();
+        if (ip != null) {
+            TokenBucket bucket = byIp.get(ip, k -> new TokenBucket(ipCapacity, ipRefillPerSecond, now));
+            long retryAfter = bucket.tryConsume(now);
+            if (retryAfter > 0) {
+                throttledIp.increment();
+                log.warn("🚦 Login limitado para o IP {}", ip);
+                throw new TooManyRequestsException("Muitas tentativas de login, tente novamente mais tarde", retryAfter);
+            }
+        }
+        if (username != null) {
+            String key = username.toLowerCase(Locale.ROOT);
+            TokenBucket bucket = byUsername.get(key,
+                    k -> new TokenBucket(usernameCapacity, usernameRefillPerSecond, now));
+            long retryAfter = bucket.tryConsume(now);
+            if (retryAfter > 0) {
+                throttledUsername.increment();
+                log.warn("🚦 Login limitado para o usuário {}", username);
+                throw new TooManyRequestsException("Muitas tentativas de login, tente novamente mais tarde", retryAfter);
+            }
+        }
+    }
+
+    // Sem acesso pelo tempo de encher do zero, o bucket estaria cheio: descartá-lo não muda nada
+    private static Cache<String, TokenBucket> buckets(int maxKeys, int capacity, int refillPerMinute) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis((long) Math.ceil(capacity * 60_000.0 / refillPerMinute)))
+                .build();
+    }
+
+    static final class TokenBucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long updatedAt;
+
+        TokenBucket(int capacity, double refillPerSecond, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        /**
+         * @return 0 se consumiu uma ficha, senão os segundos até a próxima ficha
+         */
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            double nanosToNext = (1 - tokens) / refillPerNano;
+            return Math.max(1, (long) Math.ceil(nanosToNext / 1_000_000_000.0));
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * refillPerNano);
+            updatedAt = now;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.shopeasy.ecommerce.security;
+
+import com.shopeasy.ecommerce.model.UsedRefreshToken;
+import com.shopeasy.ecommerce.repository.RefreshTokenFamilyRepository;
+import com.shopeasy.ecommerce.repository.UsedRefreshTokenRepository;
+import com.shopeasy.ecommerce.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice em memória das revogações de refresh token. Tokens já trocados ficam em um filtro de
+ * Bloom (muitos, um por refresh) e famílias revogadas em um conjunto exato (poucas, uma por
+ * logout-all ou roubo detectado). Um token novo é liberado sem consulta; só um positivo do filtro
+ * é confirmado no banco. As tabelas continuam sendo a fonte de verdade e outras instâncias
+ * enxergam as revogações no próximo {@link #sync()}.
+ */
+@Slf4j
+@Component
+public class RefreshTokenRevocations {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(2000, 1, 1, 0, 0);
+    // Cobre transações confirmadas depois do início da sincronização anterior
+    private static final long SYNC_OVERLAP_SECONDS = 30;
+
+    private final UsedRefreshTokenRepository usedRefreshTokenRepository;
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter bloomNegatives;
+    private final Counter confirmedUsed;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter usedTokens;
+    private volatile Set<String> revokedFamilies = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime syncedFrom = BEGINNING;
+
+    public RefreshTokenRevocations(UsedRefreshTokenRepository usedRefreshTokenRepository,
+                                   RefreshTokenFamilyRepository familyRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.refresh.bloom.expected-insertions:1000000}") long expectedInsertions,
+                                   @Value("${auth.refresh.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.usedRefreshTokenRepository = usedRefreshTokenRepository;
+        this.familyRepository = familyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usedTokens = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.bloomNegatives = Counter.builder("auth_refresh_revocation_checks_total").tag("result", "bloom_negative")
+                .register(meterRegistry);
+        this.confirmedUsed = Counter.builder("auth_refresh_revocation_checks_total").tag("result", "confirmed")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth_refresh_revocation_checks_total").tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("auth_refresh_bloom_false_positive_rate", this, r -> r.usedTokens.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("auth_refresh_bloom_bytes", this, r -> r.usedTokens.memoryBytes())
+                .register(meterRegistry);
+        Gauge.builder("auth_refresh_revoked_families", this, r -> r.revokedFamilies.size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Set<String> families = ConcurrentHashMap.newKeySet();
+        long loaded = load(BEGINNING, startedAt, filter, families);
+
+        usedTokens = filter;
+        revokedFamilies = families;
+        syncedFrom = startedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+        log.info("🧱 Índice de revogação carregado: {} tokens usados, {} famílias revogadas", loaded, families.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh.sync-interval-ms:5000}", initialDelayString = "${auth.refresh.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        load(syncedFrom, startedAt, usedTokens, revokedFamilies);
+        syncedFrom = startedAt.minusSeconds(SYNC_OVERLAP_SECONDS);
+    }
+
+    /** Remove das tabelas o que já expirou e reconstrói o filtro sem esses tokens. */
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval-ms:86400000}", initialDelayString = "${auth.refresh.purge-interval-ms:86400000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            usedRefreshTokenRepository.deleteExpiredBefore(now);
+            familyRepository.deleteExpiredBefore(now);
+        });
+        rebuild();
+    }
+
+    public boolean isFamilyRevoked(String familyId) {
+        return revokedFamilies.contains(familyId);
+    }
+
+    public boolean isUsed(String tokenId) {
+        if (!usedTokens.mightContain(tokenId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        boolean used = usedRefreshTokenRepository.existsById(tokenId);
+        (used ? confirmedUsed : falsePositives).increment();
+        return used;
+    }
+
+    /**
+     * Registra o token como trocado e estende a validade da família.
+     *
+     * @return {@code false} se outra rotação já tinha usado o mesmo token
+     */
+    public boolean markUsed(UsedRefreshToken token, LocalDateTime familyExpiresAt) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                usedRefreshTokenRepository.saveAndFlush(token);
+                familyRepository.extend(token.getFamilyId(), familyExpiresAt);
+            });
+        } catch (DataIntegrityViolationException e) {
+            usedTokens.put(token.getId());
+            return false;
+        }
+        usedTokens.put(token.getId());
+        return true;
+    }
+
+    public void revokeFamilies(Collection<String> familyIds) {
+        if (familyIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(familyIds);
+        transactionTemplate.executeWithoutResult(status -> familyRepository.revoke(ids, LocalDateTime.now()));
+        revokedFamilies.addAll(ids);
+    }
+
+    private long load(LocalDateTime since, LocalDateTime now, BloomFilter filter, Set<String> families) {
+        Long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<String> ids = usedRefreshTokenRepository.streamIdsUsedSince(since, now)) {
+                for (String id : (Iterable<String>) ids::iterator) {
+                    filter.put(id);
+                    count++;
+                }
+            }
+            families.addAll(familyRepository.findIdsRevokedSince(since, now));
+            return count;
+        });
+        return loaded == null ? 0 : loaded;
+    }
+}
@@ -28,8 +28,9 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor) {
+        // BCrypt fora das threads do Tomcat, com fila limitada
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), hashingExecutor);
     }
 
     @Bean
@@ -0,0 +1,144 @@
+package com.shopeasy.ecommerce.security;
+
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Filtro de Bloom com os usernames cadastrados. Um nome ausente do filtro com certeza não
+ * existe e é respondido sem consulta; só um positivo vai ao banco. Exclusões não saem do
+ * filtro (viram falsos positivos) e disparam uma reconstrução quando se acumulam.
+ * Os nomes entram e são consultados normalizados (trim e minúsculas): o banco pode comparar
+ * sem diferenciar caixa nem espaços finais, e o filtro não pode dar falso negativo para uma variante.
+ */
+@Slf4j
+@Component
+public class UsernameIndex {
+
+    // Ids IDENTITY podem ser confirmados fora de ordem; relê uma janela antes do último visto
+    private static final long SYNC_OVERLAP_IDS = 1000;
+    private static final long MIN_REMOVED_BEFORE_REBUILD = 1000;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter bloomNegatives;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter usernames;
+    private volatile long syncedUpToId;
+    private volatile long loadedAtRebuild;
+    private final AtomicLong removedSinceRebuild = new AtomicLong();
+
+    public UsernameIndex(UserRepository userRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${users.username-filter.expected-insertions:1000000}") long expectedInsertions,
+                         @Value("${users.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.bloomNegatives = Counter.builder("users_username_checks_total").tag("result", "bloom_negative")
+                .register(meterRegistry);
+        this.confirmed = Counter.builder("users_username_checks_total").tag("result", "confirmed")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("users_username_checks_total").tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("users_username_bloom_false_positive_rate", this, i -> i.usernames.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("users_username_bloom_bytes", this, i -> i.usernames.memoryBytes())
+                .register(meterRegistry);
+    }
+
+    /** Recarrega tudo, descartando os usernames excluídos desde a última carga. */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${users.username-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${users.username-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long users = userRepository.count();
+        // Dimensiona com folga para o filtro não saturar antes da próxima reconstrução
+        BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, users * 2), falsePositiveRate);
+        long upToId = userRepository.findMaxId().orElse(0L);
+        long loaded = load(0, upToId, filter);
+
+        usernames = filter;
+        // Cadastros feitos durante a carga foram para o filtro antigo
+        long caughtUpToId = userRepository.findMaxId().orElse(0L);
+        loaded += load(upToId, caughtUpToId, filter);
+        syncedUpToId = caughtUpToId;
+        loadedAtRebuild = loaded;
+        removedSinceRebuild.set(0);
+        log.info("🧱 Índice de usernames carregado: {} usuários, {} KB", loaded, filter.memoryBytes() / 1024);
+    }
+
+    /** Traz usernames criados por outras instâncias. */
+    @Scheduled(fixedDelayString = "${users.username-filter.sync-interval-ms:5000}",
+            initialDelayString = "${users.username-filter.sync-interval-ms:5000}")
+    public void sync() {
+        if (removedSinceRebuild.get() > Math.max(MIN_REMOVED_BEFORE_REBUILD, loadedAtRebuild / 100)) {
+            rebuild();
+            return;
+        }
+        long upToId = userRepository.findMaxId().orElse(0L);
+        load(Math.max(0, syncedUpToId - SYNC_OVERLAP_IDS), upToId, usernames);
+        syncedUpToId = Math.max(syncedUpToId, upToId);
+    }
+
+    public boolean exists(String username) {
+        if (!usernames.mightContain(normalize(username))) {
+            bloomNegatives.increment();
+            return false;
+        }
+        boolean exists = userRepository.existsByUsername(username);
+        (exists ? confirmed : falsePositives).increment();
+        return exists;
+    }
+
+    /** Chamado antes do commit do novo usuário: um rollback só deixa um falso positivo. */
+    public void add(String username) {
+        usernames.put(normalize(username));
+    }
+
+    public void removed(String username) {
+        removedSinceRebuild.incrementAndGet();
+        log.debug("🗑️ Username {} continua no filtro até a próxima reconstrução", username);
+    }
+
+    private long load(long afterId, long upToId, BloomFilter filter) {
+        if (upToId <= afterId) {
+            return 0;
+        }
+        Long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<String> names = userRepository.streamUsernamesBetween(afterId, upToId)) {
+                for (String name : (Iterable<String>) names::iterator) {
+                    filter.put(normalize(name));
+                    count++;
+                }
+            }
+            return count;
+        });
+        return loaded == null ? 0 : loaded;
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+}
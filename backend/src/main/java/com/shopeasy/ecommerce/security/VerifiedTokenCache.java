@@ -0,0 +1,105 @@
+package com.shopeasy.ecommerce.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda o resultado da verificação de tokens de acesso, indexado pelo SHA-256 do token,
+ * até o {@code exp} de cada um. Um token repetido não passa de novo por HMAC e parse de JSON.
+ * Cheio, o Caffeine descarta os menos usados; expirados saem sozinhos, sem varrer o mapa.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final Cache<Digest, VerifiedToken> tokens;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.max-size:100000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((Digest digest, VerifiedToken token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()))))
+                .build();
+        this.hits = Counter.builder("jwt_token_cache_requests_total").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("jwt_token_cache_requests_total").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("jwt_token_cache_size", tokens, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Devolve o usuário e os papéis do token, verificando a assinatura só na primeira vez.
+     *
+     * @throws io.jsonwebtoken.JwtException se o token for inválido ou estiver expirado
+     */
+    public VerifiedToken verify(String token) {
+        Digest digest = digest(token);
+        VerifiedToken cached = tokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        // Lança ExpiredJwtException para o token que acabou de sair do cache por expiração
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token sem expiração");
+        }
+        if (JwtUtil.REFRESH_TYPE.equals(claims.get(JwtUtil.TYPE_CLAIM))) {
+            throw new MalformedJwtException("Refresh token não é aceito como token de acesso");
+        }
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                jwtUtil.getRoles(claims).stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList(),
+                claims.getExpiration().getTime());
+        tokens.put(digest, verified);
+        return verified;
+    }
+
+    public void clear() {
+        tokens.invalidateAll();
+    }
+
+    private static Digest digest(String token) {
+        ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    public record VerifiedToken(String username, List<GrantedAuthority> authorities, long expiresAtMillis) {
+
+        boolean isExpired() {
+            return expiresAtMillis <= System.currentTimeMillis();
+        }
+    }
+
+    private record Digest(long a, long b, long c, long d) {
+    }
+}
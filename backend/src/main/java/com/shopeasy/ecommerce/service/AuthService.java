@@ -14,4 +14,6 @@ public interface AuthService {
 
     public SuccessResponse register(RegisterRequest request);
 
+    public SuccessResponse logoutAll(RefreshRequest request);
+
 }
@@ -0,0 +1,30 @@
+package com.shopeasy.ecommerce.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface InventoryService {
+
+    int available(Long productId);
+
+    Map<Long, Integer> available(Collection<Long> productIds);
+
+    /**
+     * Reserva tudo ou nada.
+     *
+     * @return produtos sem estoque suficiente e o disponível de cada um; vazio se a reserva foi feita
+     */
+    Map<Long, Integer> reserve(Map<Long, Integer> quantities, Long orderId);
+
+    void release(Map<Long, Integer> quantities, Long orderId);
+
+    /**
+     * Define o estoque disponível do produto lançando a diferença no ledger.
+     *
+     * @return estoque disponível após o ajuste
+     */
+    int restock(Long productId, int stock);
+
+    /** Descarta o estado em memória de um produto removido. */
+    void forget(Long productId);
+}
@@ -2,14 +2,22 @@ package com.shopeasy.ecommerce.service;
 
 import com.shopeasy.ecommerce.dto.request.OrderRequest;
 import com.shopeasy.ecommerce.dto.response.OrderResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
 import com.shopeasy.ecommerce.model.OrderStatus;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface OrderService {
 
-    List<OrderResponse> list();
+    /**
+     * Escreve os pedidos filtrados em NDJSON (um pedido por linha), lendo o banco em streaming.
+     *
+     * @return quantidade de pedidos exportados
+     */
+    long export(OrderStatus status, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException;
 
     OrderResponse findById(Long id);
 
@@ -17,6 +25,16 @@ public interface OrderService {
 
     Page<OrderResponse> findByStatus(OrderStatus status, Pageable pageable);
 
+    /**
+     * Como {@link #findByUser}, sem o COUNT.
+     *
+     * @param approximateTotal inclui o último total contado em segundo plano, se já houver um
+     */
+    SliceResponse<OrderResponse> findSliceByUser(String username, Pageable pageable, boolean approximateTotal);
+
+    /** Como {@link #findByStatus}, sem o COUNT. */
+    SliceResponse<OrderResponse> findSliceByStatus(OrderStatus status, Pageable pageable, boolean approximateTotal);
+
     OrderResponse create(String username, OrderRequest dto);
 
     OrderResponse update(String username, Long id, OrderRequest request);
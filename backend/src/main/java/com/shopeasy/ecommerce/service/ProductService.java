@@ -1,16 +1,60 @@
 package com.shopeasy.ecommerce.service;
 
 import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.CursorPageResponse;
+import com.shopeasy.ecommerce.dto.response.ProductFacetsResponse;
 import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.ProductSuggestionResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
+import com.shopeasy.ecommerce.dto.response.VersionedResponse;
 import java.math.BigDecimal;
+import java.util.List;
 import org.springframework.data.domain.Page;
 
 public interface ProductService {
 
     Page<ProductResponse> list(String name, String category, BigDecimal minPrice, BigDecimal maxPrice, int page, int size);
 
+    /** Mesma página de {@link #list}, com o ETag da representação. */
+    VersionedResponse<Page<ProductResponse>> listVersioned(String name, String category, BigDecimal minPrice,
+                                                           BigDecimal maxPrice, int page, int size);
+
+    /**
+     * ETag que {@link #listVersioned} devolveria, sem consultar o banco: só existe se a página está
+     * em cache e nenhum movimento de estoque foi gravado desde o último cálculo.
+     *
+     * @return a tag, ou {@code null} quando é preciso montar a página
+     */
+    String cachedListETag(String name, String category, BigDecimal minPrice, BigDecimal maxPrice, int page, int size);
+
+    /** Contagens por categoria e histograma de preços para o filtro de {@link #list}, numa passada em memória. */
+    ProductFacetsResponse facets(String name, String category, BigDecimal minPrice, BigDecimal maxPrice, int buckets);
+
+    /**
+     * Mesma página de {@link #list} sem o COUNT: lê um produto a mais para calcular {@code hasNext}.
+     *
+     * @param approximateTotal inclui o último total contado em segundo plano, se já houver um
+     */
+    SliceResponse<ProductResponse> listSlice(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                             int page, int size, boolean approximateTotal);
+
+    /** Paginação por cursor em (name, id): sem OFFSET e sem COUNT, custo constante em qualquer profundidade. */
+    CursorPageResponse<ProductResponse> seek(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                             String cursor, int size);
+
+    /** Busca textual no índice Lucene, do mais relevante ao menos, tolerando erros de digitação. */
+    List<ProductResponse> search(String query, int size);
+
+    /** @return quantidade de produtos indexados */
+    long rebuildSearchIndex();
+
+    /** Autocompletar: nomes que começam com o prefixo, dos mais vendidos aos menos. */
+    List<ProductSuggestionResponse> suggest(String prefix, int size);
+
     ProductResponse findById(Long id);
 
+    VersionedResponse<ProductResponse> findVersionedById(Long id);
+
     ProductResponse create(ProductRequest dto);
 
     ProductResponse update(Long id, ProductRequest dto);
@@ -0,0 +1,18 @@
+package com.shopeasy.ecommerce.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface RefreshTokenService {
+
+    /** Abre uma família nova (login) e devolve o primeiro refresh token dela. */
+    String issue(UserDetails user);
+
+    /** Troca o refresh token pelo próximo da família; reapresentar um token já usado revoga a família. */
+    Rotation rotate(String refreshToken);
+
+    /** Revoga todas as famílias do dono do refresh token informado. */
+    int revokeAll(String refreshToken);
+
+    record Rotation(UserDetails user, String refreshToken) {
+    }
+}
@@ -6,16 +6,18 @@ import com.shopeasy.ecommerce.dto.request.RegisterRequest;
 import com.shopeasy.ecommerce.dto.response.AuthResponse;
 import com.shopeasy.ecommerce.dto.response.SuccessResponse;
 import com.shopeasy.ecommerce.exception.BusinessException;
+import com.shopeasy.ecommerce.exception.TooManyRequestsException;
 import com.shopeasy.ecommerce.exception.UnauthorizedException;
 import com.shopeasy.ecommerce.model.Role;
 import com.shopeasy.ecommerce.model.User;
-import com.shopeasy.ecommerce.security.CustomUserDetailsService;
 import com.shopeasy.ecommerce.security.JwtUtil;
 import com.shopeasy.ecommerce.service.AuthService;
+import com.shopeasy.ecommerce.service.RefreshTokenService;
 import com.shopeasy.ecommerce.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,7 +32,7 @@ public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
 
@@ -44,11 +46,21 @@ public class AuthServiceImpl implements AuthService {
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
             String access = jwtUtil.generateToken(userDetails);
-            String refresh = jwtUtil.generateRefreshToken(userDetails);
+            String refresh = refreshTokenService.issue(userDetails);
 
             log.info("✅ Login bem-sucedido para {}", request.getUsername());
             return new AuthResponse(access, refresh);
 
+        } catch (TooManyRequestsException e) {
+            // Fila de hash cheia: não é credencial errada, o cliente deve tentar de novo
+            throw e;
+        } catch (InternalAuthenticationServiceException e) {
+            // Usuário inexistente: o DaoAuthenticationProvider embrulha a recusa do hash de mitigação
+            if (e.getCause() instanceof TooManyRequestsException tooMany) {
+                throw tooMany;
+            }
+            log.warn("❌ Falha na autenticação para {}", request.getUsername());
+            throw new UnauthorizedException("Usuário ou senha inválidos");
         } catch (Exception e) {
             log.warn("❌ Falha na autenticação para {}", request.getUsername());
             throw new UnauthorizedException("Usuário ou senha inválidos");
@@ -59,18 +71,12 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponse refresh(RefreshRequest request) {
         log.info("♻️ Requisição de refresh token");
 
-        if (!jwtUtil.isTokenValid(request.getRefreshToken())) {
-            log.warn("❌ Token de refresh inválido");
-            throw new UnauthorizedException("Token inválido ou expirado");
-        }
-
-        String username = jwtUtil.getUsernameFromToken(request.getRefreshToken());
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
 
-        String newAccess = jwtUtil.generateToken(userDetails);
-        log.info("🔁 Novo access token gerado para {}", username);
+        String newAccess = jwtUtil.generateToken(rotation.user());
+        log.info("🔁 Novo access token gerado para {}", rotation.user().getUsername());
 
-        return new AuthResponse(newAccess, request.getRefreshToken());
+        return new AuthResponse(newAccess, rotation.refreshToken());
     }
 
     @Override
@@ -86,7 +92,7 @@ public class AuthServiceImpl implements AuthService {
             throw new BusinessException("Usuário e senha são obrigatórios");
         }
 
-        if (userService.findByUsername(username).isPresent()) {
+        if (userService.existsByUsername(username)) {
             throw new BusinessException("Usuário já existe");
         }
 
@@ -100,4 +106,10 @@ public class AuthServiceImpl implements AuthService {
 
         return new SuccessResponse("Usuário registrado com sucesso");
     }
+
+    @Override
+    public SuccessResponse logoutAll(RefreshRequest request) {
+        int revoked = refreshTokenService.revokeAll(request.getRefreshToken());
+        return new SuccessResponse("Sessões encerradas: " + revoked);
+    }
 }
@@ -0,0 +1,187 @@
+package com.shopeasy.ecommerce.service.impl;
+
+import com.shopeasy.ecommerce.cache.ProductCache;
+import com.shopeasy.ecommerce.cache.ProductListCache;
+import com.shopeasy.ecommerce.inventory.HotInventory;
+import com.shopeasy.ecommerce.model.StockMovement;
+import com.shopeasy.ecommerce.model.StockMovementType;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.StockLevel;
+import com.shopeasy.ecommerce.repository.StockMovementRepository;
+import com.shopeasy.ecommerce.service.InventoryService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final int MAX_RESTOCK_ATTEMPTS = 100;
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final HotInventory hotInventory;
+    private final ProductCache productCache;
+    private final ProductListCache productListCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    public int available(Long productId) {
+        return available(List.of(productId)).getOrDefault(productId, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> available(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return stockMovementRepository.findStockLevels(productIds).stream()
+                .collect(Collectors.toMap(StockLevel::getProductId, l -> Math.toIntExact(l.getQuantity())));
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> reserve(Map<Long, Integer> quantities, Long orderId) {
+        Map<Long, Integer> hot = filterHot(quantities, true);
+        Map<Long, Integer> regular = filterHot(quantities, false);
+        Map<Long, Integer> shortages = new HashMap<>();
+
+        // O UPDATE condicional no saldo decide a reserva: nada de ler o ledger nem bloquear products
+        Set<Long> rejected = reserveRegular(regular);
+        if (!rejected.isEmpty()) {
+            productRepository.applyStockDeltas(without(regular, rejected));
+            Map<Long, Integer> levels = available(rejected);
+            rejected.forEach(productId -> shortages.put(productId, levels.getOrDefault(productId, 0)));
+        }
+
+        if (shortages.isEmpty()) {
+            shortages.putAll(hotInventory.reserve(hot));
+            if (!shortages.isEmpty()) {
+                productRepository.applyStockDeltas(regular);
+            }
+        } else {
+            hot.forEach((productId, quantity) -> {
+                int available = hotInventory.available(productId);
+                if (available < quantity) {
+                    shortages.put(productId, available);
+                }
+            });
+        }
+
+        if (!shortages.isEmpty()) {
+            log.warn("🚫 Reserva recusada por falta de estoque: {}", shortages);
+            return shortages;
+        }
+
+        record(regular, StockMovementType.RESERVATION, orderId, -1, true);
+        record(hot, StockMovementType.RESERVATION, orderId, -1, false);
+        return Map.of();
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantities, Long orderId) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> hot = filterHot(quantities, true);
+        Map<Long, Integer> regular = filterHot(quantities, false);
+
+        productRepository.openStockBalances(regular.keySet());
+        productRepository.applyStockDeltas(regular);
+        record(regular, StockMovementType.RELEASE, orderId, 1, true);
+        record(hot, StockMovementType.RELEASE, orderId, 1, false);
+        hotInventory.release(hot);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int restock(Long productId, int stock) {
+        if (hotInventory.isHot(productId)) {
+            int current = hotInventory.available(productId);
+            int delta = hotInventory.adjust(productId, stock - current);
+            recordRestock(productId, delta, false);
+            return current + delta;
+        }
+
+        // Troca condicional do saldo: se uma reserva passou entre a leitura e a troca, lê de novo
+        productRepository.openStockBalances(List.of(productId));
+        for (int attempt = 0; attempt < MAX_RESTOCK_ATTEMPTS; attempt++) {
+            int balance = stockMovementRepository.findBalance(productId).orElse(0);
+            int delta = stock - available(productId);
+            if (delta == 0 || productRepository.replaceStock(productId, balance, balance + delta)) {
+                recordRestock(productId, delta, true);
+                return stock;
+            }
+        }
+        throw new IllegalStateException("Estoque do produto " + productId + " mudou durante todo o ajuste");
+    }
+
+    @Override
+    @Transactional
+    public void forget(Long productId) {
+        hotInventory.untrack(productId);
+        productRepository.deleteStockBalance(productId);
+    }
+
+    // Produtos gravados fora do serviço ainda não têm saldo: abre e tenta de novo só esses
+    private Set<Long> reserveRegular(Map<Long, Integer> regular) {
+        Set<Long> rejected = productRepository.reserveStock(regular);
+        if (rejected.isEmpty()) {
+            return rejected;
+        }
+        productRepository.openStockBalances(rejected);
+        Map<Long, Integer> retry = new HashMap<>(regular);
+        retry.keySet().retainAll(rejected);
+        return productRepository.reserveStock(retry);
+    }
+
+    // Toda mudança de estoque passa por aqui; o estoque faz parte do produto em cache
+    private void record(Map<Long, Integer> quantities, StockMovementType type, Long orderId, int sign,
+                        boolean applied) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        productCache.evictAfterCommit(quantities.keySet());
+        productListCache.bumpStockAfterCommit();
+        stockMovementRepository.saveAll(quantities.entrySet().stream()
+                .map(e -> StockMovement.builder()
+                        .productId(e.getKey())
+                        .quantity(sign * e.getValue())
+                        .type(type)
+                        .orderId(orderId)
+                        .compactionId(applied ? StockMovement.APPLIED : null)
+                        .build())
+                .toList());
+    }
+
+    private void recordRestock(Long productId, int delta, boolean applied) {
+        if (delta != 0) {
+            record(Map.of(productId, delta), StockMovementType.RESTOCK, null, 1, applied);
+            log.info("📦 Estoque do produto {} ajustado em {}", productId, delta);
+        }
+    }
+
+    private static Map<Long, Integer> without(Map<Long, Integer> quantities, Set<Long> excluded) {
+        Map<Long, Integer> remaining = new HashMap<>(quantities);
+        remaining.keySet().removeAll(excluded);
+        return remaining;
+    }
+
+    private Map<Long, Integer> filterHot(Map<Long, Integer> quantities, boolean hot) {
+        return quantities.entrySet().stream()
+                .filter(e -> hotInventory.isHot(e.getKey()) == hot)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
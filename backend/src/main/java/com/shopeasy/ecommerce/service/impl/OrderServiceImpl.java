@@ -1,29 +1,49 @@
 package com.shopeasy.ecommerce.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopeasy.ecommerce.cache.ApproximateCounts;
 import com.shopeasy.ecommerce.dto.request.OrderItemRequest;
 import com.shopeasy.ecommerce.dto.request.OrderRequest;
 import com.shopeasy.ecommerce.dto.response.OrderResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
 import com.shopeasy.ecommerce.exception.BusinessException;
 import com.shopeasy.ecommerce.exception.ResourceNotFoundException;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
-import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
+import com.shopeasy.ecommerce.kafka.outbox.OrderEventOutbox;
 import com.shopeasy.ecommerce.mapper.OrderMapper;
 import com.shopeasy.ecommerce.model.Order;
 import com.shopeasy.ecommerce.model.OrderItem;
 import com.shopeasy.ecommerce.model.OrderStatus;
 import com.shopeasy.ecommerce.model.Product;
 import com.shopeasy.ecommerce.model.User;
+import com.shopeasy.ecommerce.repository.OrderExportRow;
+import com.shopeasy.ecommerce.repository.OrderItemLine;
 import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.OrderSummary;
 import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.service.InventoryService;
 import com.shopeasy.ecommerce.service.OrderService;
 import com.shopeasy.ecommerce.service.UserService;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -34,47 +54,99 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final UserService userService;
-    private final KafkaProducerService kafkaProducerService;
+    private final OrderEventOutbox orderEventOutbox;
+    private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
+    private final ApproximateCounts approximateCounts;
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> list() {
-        log.info("📋 Listando todos os pedidos");
-        return orderRepository.findAll().stream()
-                .map(OrderMapper::toDTO)
-                .collect(Collectors.toList());
+    public long export(OrderStatus status, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        log.info("📦 Exportando pedidos - status: {}, de: {}, até: {}", status, from, to);
+        OutputStream buffered = new BufferedOutputStream(out);
+        long exported = 0;
+
+        // As linhas chegam ordenadas por pedido: cada pedido é escrito assim que o próximo começa,
+        // então só um pedido fica em memória por vez
+        try (Stream<OrderExportRow> rows = orderRepository.streamForExport(status, from, to)) {
+            Iterator<OrderExportRow> iterator = rows.iterator();
+            OrderExportRow current = null;
+            List<OrderItemLine> lines = new ArrayList<>();
+            while (iterator.hasNext()) {
+                OrderExportRow row = iterator.next();
+                if (current != null && !current.getId().equals(row.getId())) {
+                    writeLine(buffered, OrderMapper.toDTO(current, lines));
+                    exported++;
+                    lines = new ArrayList<>();
+                }
+                current = row;
+                if (row.getQuantity() != null) {
+                    lines.add(row);
+                }
+            }
+            if (current != null) {
+                writeLine(buffered, OrderMapper.toDTO(current, lines));
+                exported++;
+            }
+        }
+
+        buffered.flush();
+        log.info("✅ {} pedidos exportados", exported);
+        return exported;
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderResponse findById(Long id) {
         log.info("🔍 Buscando pedido por ID: {}", id);
-        Order order = orderRepository.findById(id)
+        OrderSummary order = orderRepository.findSummaryById(id)
                 .orElseThrow(() -> {
                     log.warn("❌ Pedido não encontrado: ID {}", id);
                     return new ResourceNotFoundException("Pedido não encontrado com ID " + id);
                 });
-        return OrderMapper.toDTO(order);
+        return OrderMapper.toDTO(order, orderRepository.findItemLines(List.of(id)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponse> findByUser(String username, Pageable pageable) {
         log.info("📄 Buscando pedidos do usuário: {}", username);
-        return orderRepository.findByUser_Username(username, pageable)
-                .map(OrderMapper::toDTO);
+        return withItems(orderRepository.findSummariesByUsername(username, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponse> findByStatus(OrderStatus status, Pageable pageable) {
         log.info("📂 Buscando pedidos com status: {}", status);
-        return orderRepository.findByStatus(status, pageable)
-                .map(OrderMapper::toDTO);
+        return withItems(orderRepository.findSummariesByStatus(status, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<OrderResponse> findSliceByUser(String username, Pageable pageable, boolean approximateTotal) {
+        log.info("📄 Buscando pedidos do usuário sem contagem: {}", username);
+        Slice<OrderResponse> slice = withItems(orderRepository.findSummarySliceByUsername(username, pageable));
+        Long total = approximateTotal
+                ? approximateCounts.estimate(List.of("orders-user", username),
+                () -> orderRepository.countByUserUsername(username))
+                : null;
+        return SliceResponse.of(slice, total);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public SliceResponse<OrderResponse> findSliceByStatus(OrderStatus status, Pageable pageable, boolean approximateTotal) {
+        log.info("📂 Buscando pedidos com status sem contagem: {}", status);
+        Slice<OrderResponse> slice = withItems(orderRepository.findSummarySliceByStatus(status, pageable));
+        Long total = approximateTotal
+                ? approximateCounts.estimate(List.of("orders-status", status),
+                () -> orderRepository.countByStatus(status))
+                : null;
+        return SliceResponse.of(slice, total);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public OrderResponse create(String username, OrderRequest dto) {
         log.info("🛒 Criando novo pedido para usuário: {}", username);
         User user = userService.findByUsername(username)
@@ -85,26 +157,26 @@ public class OrderServiceImpl implements OrderService {
 
         Order order = new Order();
         order.setUser(user);
+        order.setStatus(OrderStatus.NEW);
+        // Persiste antes dos itens para que as movimentações de estoque referenciem o pedido
+        orderRepository.save(order);
 
-        List<OrderItem> items = dto.getItems().stream()
-                .map(itemDto -> createOrderItem(order, itemDto))
-                .collect(Collectors.toList());
+        List<OrderItem> items = createOrderItems(order, dto.getItems(), Map.of());
 
         order.getItems().addAll(items);
         order.calculateTotal();
-        order.setStatus(OrderStatus.NEW);   
         Order saved = orderRepository.save(order);
         log.info("✅ Pedido criado com ID: {}", saved.getId());
 
         OrderEvent event = new OrderEvent(saved.getId(), user.getId(), saved.getTotal(), saved.getStatus().name());
-        kafkaProducerService.sendOrderEvent(event);
-        log.info("📤 Evento enviado para Kafka: {}", event);
+        // Publicado pelo OutboxRelay depois do commit
+        orderEventOutbox.enqueue(event);
 
         return OrderMapper.toDTO(saved);
     }
 
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public OrderResponse update(String username, Long id, OrderRequest request) {
         log.info("✏️ Atualizando pedido ID {} do usuário {}", id, username);
 
@@ -119,11 +191,9 @@ public class OrderServiceImpl implements OrderService {
             throw new BusinessException("Você não tem permissão para atualizar este pedido.");
         }
 
-        order.getItems().clear();
-        List<OrderItem> items = request.getItems().stream()
-                .map(itemDto -> createOrderItem(order, itemDto))
-                .collect(Collectors.toList());
+        List<OrderItem> items = createOrderItems(order, request.getItems(), quantitiesByProduct(order.getItems()));
 
+        order.getItems().clear();
         order.getItems().addAll(items);
         order.calculateTotal();
 
@@ -134,30 +204,128 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void delete(Long id) {
         log.info("🗑️ Deletando pedido com ID {}", id);
-        if (!orderRepository.existsById(id)) {
-            log.warn("❌ Pedido não encontrado para deletar: {}", id);
-            throw new ResourceNotFoundException("Pedido não encontrado com ID " + id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("❌ Pedido não encontrado para deletar: {}", id);
+                    return new ResourceNotFoundException("Pedido não encontrado com ID " + id);
+                });
+
+        if (order.getStatus() != OrderStatus.CANCELED) {
+            inventoryService.release(quantitiesByProduct(order.getItems()), id);
+            log.info("↩️ Estoque devolvido para os itens do pedido {}", id);
         }
-        orderRepository.deleteById(id);
+        orderRepository.delete(order);
         log.info("✅ Pedido removido com sucesso: ID {}", id);
     }
 
-    private OrderItem createOrderItem(Order order, OrderItemRequest itemDto) {
-        Product product = productRepository.findById(itemDto.getProductId())
-                .orElseThrow(() -> {
-                    log.warn("❌ Produto não encontrado: ID {}", itemDto.getProductId());
-                    return new ResourceNotFoundException("Produto não encontrado com ID " + itemDto.getProductId());
-                });
+    /**
+     * Valida os itens e reserva no ledger de estoque a diferença em relação ao que
+     * o pedido já tinha reservado ({@code reserved}).
+     */
+    private List<OrderItem> createOrderItems(Order order, List<OrderItemRequest> itemDtos, Map<Long, Integer> reserved) {
+        // Soma as quantidades por produto para validar linhas repetidas do mesmo item
+        Map<Long, Integer> requested = new LinkedHashMap<>();
+        itemDtos.forEach(i -> requested.merge(i.getProductId(), i.getQuantity(), Integer::sum));
+
+        Map<Long, Product> products = productRepository.findAllById(requested.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<String> errors = new ArrayList<>();
+        boolean missing = false;
+        Map<Long, Integer> toReserve = new HashMap<>();
+        Map<Long, Integer> toRelease = new HashMap<>();
+        for (Map.Entry<Long, Integer> line : requested.entrySet()) {
+            Long productId = line.getKey();
+            if (!products.containsKey(productId)) {
+                log.warn("❌ Produto não encontrado: ID {}", productId);
+                errors.add("Produto não encontrado com ID " + productId);
+                missing = true;
+                continue;
+            }
+            int delta = line.getValue() - reserved.getOrDefault(productId, 0);
+            if (delta > 0) {
+                toReserve.put(productId, delta);
+            } else if (delta < 0) {
+                toRelease.put(productId, -delta);
+            }
+        }
+        reserved.forEach((productId, quantity) -> {
+            if (!requested.containsKey(productId)) {
+                toRelease.put(productId, quantity);
+            }
+        });
+
+        // Com produtos inexistentes o pedido já falhou: só consulta o estoque para relatar tudo de uma vez
+        Map<Long, Integer> shortages = !missing
+                ? inventoryService.reserve(toReserve, order.getId())
+                : shortagesOf(toReserve);
+        requested.forEach((productId, quantity) -> {
+            if (shortages.containsKey(productId)) {
+                Product product = products.get(productId);
+                int available = shortages.get(productId) + reserved.getOrDefault(productId, 0);
+                log.warn("🚫 Estoque insuficiente para o produto {} (solicitado: {}, disponível: {})",
+                        product.getName(), quantity, available);
+                errors.add("Estoque insuficiente para o produto " + product.getName()
+                        + " (solicitado: " + quantity + ", disponível: " + available + ")");
+            }
+        });
 
-        if (product.getStock() < itemDto.getQuantity()) {
-            log.warn("🚫 Estoque insuficiente para o produto {} (solicitado: {}, disponível: {})",
-                    product.getName(), itemDto.getQuantity(), product.getStock());
-            throw new BusinessException("Estoque insuficiente para o produto " + product.getName());
+        // Produto inexistente continua 404; a mensagem traz também os demais erros do pedido
+        if (missing) {
+            throw new ResourceNotFoundException(String.join("; ", errors));
+        }
+        if (!errors.isEmpty()) {
+            throw new BusinessException(String.join("; ", errors));
         }
 
+        inventoryService.release(toRelease, order.getId());
+
+        return itemDtos.stream()
+                .map(itemDto -> createOrderItem(order, products.get(itemDto.getProductId()), itemDto))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Integer> shortagesOf(Map<Long, Integer> quantities) {
+        Map<Long, Integer> available = inventoryService.available(quantities.keySet());
+        return quantities.entrySet().stream()
+                .filter(e -> available.getOrDefault(e.getKey(), 0) < e.getValue())
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> available.getOrDefault(e.getKey(), 0)));
+    }
+
+    // Uma consulta de itens por página em vez de uma por pedido e outra por item
+    private Page<OrderResponse> withItems(Page<OrderSummary> page) {
+        Map<Long, List<OrderItemLine>> lines = itemLinesOf(page.getContent());
+        return page.map(o -> OrderMapper.toDTO(o, lines.getOrDefault(o.getId(), List.of())));
+    }
+
+    private Slice<OrderResponse> withItems(Slice<OrderSummary> slice) {
+        Map<Long, List<OrderItemLine>> lines = itemLinesOf(slice.getContent());
+        return slice.map(o -> OrderMapper.toDTO(o, lines.getOrDefault(o.getId(), List.of())));
+    }
+
+    private Map<Long, List<OrderItemLine>> itemLinesOf(List<OrderSummary> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+        return orderRepository.findItemLines(orders.stream().map(OrderSummary::getId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderItemLine::getOrderId));
+    }
+
+    private void writeLine(OutputStream out, OrderResponse order) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(order));
+        out.write('\n');
+    }
+
+    private static Map<Long, Integer> quantitiesByProduct(List<OrderItem> items) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        items.forEach(i -> quantities.merge(i.getProduct().getId(), i.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    private OrderItem createOrderItem(Order order, Product product, OrderItemRequest itemDto) {
         log.info("✅ Item adicionado ao pedido: produto={}, quantidade={}", product.getName(), itemDto.getQuantity());
 
         return OrderItem.builder()
@@ -1,25 +1,48 @@
 package com.shopeasy.ecommerce.service.impl;
 
+import com.shopeasy.ecommerce.cache.ApproximateCounts;
+import com.shopeasy.ecommerce.cache.ProductCache;
+import com.shopeasy.ecommerce.cache.ProductListCache;
 import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.CursorPageResponse;
+import com.shopeasy.ecommerce.dto.response.ProductFacetsResponse;
 import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.ProductSuggestionResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
+import com.shopeasy.ecommerce.dto.response.VersionedResponse;
 import com.shopeasy.ecommerce.exception.ResourceNotFoundException;
 import com.shopeasy.ecommerce.mapper.ProductMapper;
 import com.shopeasy.ecommerce.model.Product;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.search.ProductFacetIndex;
+import com.shopeasy.ecommerce.search.ProductNameIndex;
+import com.shopeasy.ecommerce.search.ProductSearchIndex;
+import com.shopeasy.ecommerce.search.ProductSuggestIndex;
+import com.shopeasy.ecommerce.service.InventoryService;
 import com.shopeasy.ecommerce.service.ProductService;
 import com.shopeasy.ecommerce.spec.ProductSpecifications;
+import com.shopeasy.ecommerce.util.ETags;
+import com.shopeasy.ecommerce.util.SeekCursor;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
@@ -28,6 +51,14 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final InventoryService inventoryService;
+    private final ProductCache productCache;
+    private final ProductListCache productListCache;
+    private final ApproximateCounts approximateCounts;
+    private final ProductNameIndex productNameIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductFacetIndex productFacetIndex;
 
     @Override
     @Transactional(readOnly = true)
@@ -37,35 +68,234 @@ public class ProductServiceImpl implements ProductService {
                                       BigDecimal maxPrice,
                                       int page,
                                       int size) {
+        return listVersioned(name, category, minPrice, maxPrice, page, size).body();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedResponse<Page<ProductResponse>> listVersioned(String name,
+                                                                  String category,
+                                                                  BigDecimal minPrice,
+                                                                  BigDecimal maxPrice,
+                                                                  int page,
+                                                                  int size) {
 
         log.info("📦 Buscando produtos com filtros - nome: {}, categoria: {}, min: {}, max: {}, página: {}, tamanho: {}",
                 name, category, minPrice, maxPrice, page, size);
 
-        Specification<Product> spec = ProductSpecifications.filterBy(name, category, minPrice, maxPrice);
         Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
+        ProductListCache.Key key = productListCache.key(name, category, minPrice, maxPrice, page, size, true);
+        ProductListCache.CachedPage cached = productListCache.get(key, k -> {
+            Specification<Product> spec = filter(name, category, minPrice, maxPrice);
+            Page<Product> pageResult = productRepository.findAll(spec, pageable);
+            return ProductListCache.CachedPage.of(pageResult.getContent().stream()
+                    .map(p -> ProductMapper.toResponseDTO(p, 0))
+                    .toList(), pageResult.getTotalElements(), pageResult.hasNext(), page, size);
+        });
 
-        Page<Product> pageResult = productRepository.findAll(spec, pageable);
+        // Lida antes dos saldos: um movimento gravado durante a leitura invalida a tag guardada
+        long stockVersion = productListCache.stockVersion();
+        List<ProductResponse> responseList = withCurrentStock(cached.content());
 
-        List<ProductResponse> responseList = pageResult.getContent()
-                .stream()
-                .map(ProductMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        log.info("✅ {} produtos encontrados", responseList.size());
+
+        String etag = ETags.of(cached.etag(), responseList.stream().map(ProductResponse::getStock).toList());
+        cached.rememberStockedETag(stockVersion, etag);
+        return new VersionedResponse<>(new PageImpl<>(responseList, pageable, cached.totalElements()), etag);
+    }
+
+    @Override
+    public String cachedListETag(String name,
+                                 String category,
+                                 BigDecimal minPrice,
+                                 BigDecimal maxPrice,
+                                 int page,
+                                 int size) {
+        ProductListCache.CachedPage cached = productListCache.getIfPresent(
+                productListCache.key(name, category, minPrice, maxPrice, page, size, true));
+        return cached == null ? null : cached.stockedETag(productListCache.stockVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<ProductResponse> listSlice(String name,
+                                                    String category,
+                                                    BigDecimal minPrice,
+                                                    BigDecimal maxPrice,
+                                                    int page,
+                                                    int size,
+                                                    boolean approximateTotal) {
+        log.info("📦 Buscando produtos sem contagem - nome: {}, categoria: {}, min: {}, max: {}, página: {}, tamanho: {}",
+                name, category, minPrice, maxPrice, page, size);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by("name"));
+        ProductListCache.Key key = productListCache.key(name, category, minPrice, maxPrice, page, size, false);
+        ProductListCache.CachedPage cached = productListCache.get(key, k -> {
+            Slice<Product> sliceResult = productRepository.findSlice(filter(name, category, minPrice, maxPrice), pageable);
+            return ProductListCache.CachedPage.of(sliceResult.getContent().stream()
+                    .map(p -> ProductMapper.toResponseDTO(p, 0))
+                    .toList(), -1, sliceResult.hasNext(), page, size);
+        });
+
+        List<ProductResponse> responseList = withCurrentStock(cached.content());
 
         log.info("✅ {} produtos encontrados", responseList.size());
 
-        return new PageImpl<>(responseList, pageable, pageResult.getTotalElements());
+        // Sem a versão do catálogo: o total aproximado sobrevive às escritas até a próxima contagem
+        Long total = approximateTotal
+                ? approximateCounts.estimate(Arrays.asList("products", key.name(), key.category(), key.minPrice(),
+                key.maxPrice()), () -> productRepository.count(filter(name, category, minPrice, maxPrice)))
+                : null;
+        return SliceResponse.of(new SliceImpl<>(responseList, pageable, cached.hasNext()), total);
+    }
+
+    /** O nome passa pelo índice de trigramas; sem candidatos dele, o LIKE varre a tabela. */
+    private Specification<Product> filter(String name, String category, BigDecimal minPrice, BigDecimal maxPrice) {
+        return ProductSpecifications.filterBy(name, category, minPrice, maxPrice, productNameIndex.candidates(name));
+    }
+
+    /** O estoque muda a cada pedido; vem sempre do ledger, fora do cache. */
+    private List<ProductResponse> withCurrentStock(List<ProductResponse> products) {
+        Map<Long, Integer> stock = inventoryService.available(products.stream()
+                .map(ProductResponse::getId)
+                .toList());
+
+        return products.stream()
+                .map(p -> ProductMapper.withStock(p, stock.getOrDefault(p.getId(), 0)))
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> seek(String name,
+                                                    String category,
+                                                    BigDecimal minPrice,
+                                                    BigDecimal maxPrice,
+                                                    String cursor,
+                                                    int size) {
+        log.info("📦 Buscando produtos por cursor - nome: {}, categoria: {}, min: {}, max: {}, tamanho: {}",
+                name, category, minPrice, maxPrice, size);
+
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+        SeekCursor position = SeekCursor.decode(cursor);
+        Specification<Product> spec = filter(name, category, minPrice, maxPrice);
+        // Um a mais só para saber se existe outra página nessa direção
+        List<Product> rows = new ArrayList<>(productRepository.seek(spec, position, size + 1));
+        boolean more = rows.size() > size;
+        if (more) {
+            rows.remove(size);
+        }
+
+        boolean backward = position != null && position.backward();
+        if (backward) {
+            Collections.reverse(rows);
+        }
+
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!rows.isEmpty()) {
+            Product first = rows.get(0);
+            Product last = rows.get(rows.size() - 1);
+            // Voltando, sempre há uma página depois; avançando a partir de um cursor, sempre há uma antes
+            if (backward || more) {
+                nextCursor = SeekCursor.after(last.getName(), last.getId()).encode();
+            }
+            if (position != null && (!backward || more)) {
+                prevCursor = SeekCursor.before(first.getName(), first.getId()).encode();
+            }
+        }
+
+        Map<Long, Integer> stock = inventoryService.available(rows.stream().map(Product::getId).toList());
+        List<ProductResponse> content = rows.stream()
+                .map(p -> ProductMapper.toResponseDTO(p, stock.getOrDefault(p.getId(), 0)))
+                .toList();
+
+        log.info("✅ {} produtos encontrados", content.size());
+
+        return CursorPageResponse.<ProductResponse>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(nextCursor)
+                .prevCursor(prevCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> search(String query, int size) {
+        log.info("🔎 Buscando produtos por texto: '{}', tamanho: {}", query, size);
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+        List<Long> ranked = productSearchIndex.search(query, size);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        // O índice só guarda o id; os dados vêm do banco, na ordem de relevância
+        Map<Long, Product> products = productRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(Product::getId, p -> p));
+        Map<Long, Integer> stock = inventoryService.available(ranked);
+        List<ProductResponse> results = ranked.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(p -> ProductMapper.toResponseDTO(p, stock.getOrDefault(p.getId(), 0)))
+                .toList();
+
+        log.info("✅ {} produtos encontrados", results.size());
+        return results;
+    }
+
+    @Override
+    public long rebuildSearchIndex() {
+        log.info("🧱 Reconstruindo índice de busca");
+        return productSearchIndex.rebuild();
+    }
+
+    @Override
+    public ProductFacetsResponse facets(String name, String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                        int buckets) {
+        log.info("📊 Calculando facetas - nome: {}, categoria: {}, min: {}, max: {}, faixas: {}",
+                name, category, minPrice, maxPrice, buckets);
+        if (buckets < 1 || buckets > ProductFacetIndex.MAX_PRICE_BUCKETS) {
+            throw new IllegalArgumentException("A quantidade de faixas de preço deve estar entre 1 e "
+                    + ProductFacetIndex.MAX_PRICE_BUCKETS);
+        }
+        return productFacetIndex.facets(name, category, minPrice, maxPrice, buckets);
+    }
+
+    // Sem log nem transação: é chamado a cada tecla e responde só da memória
+    @Override
+    public List<ProductSuggestionResponse> suggest(String prefix, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+        return productSuggestIndex.suggest(prefix, size).stream()
+                .map(s -> new ProductSuggestionResponse(s.id(), s.name()))
+                .toList();
+    }
+
+    // Sem @Transactional: um acerto no cache não deve pegar conexão do pool
+    @Override
     public ProductResponse findById(Long id) {
+        return findVersionedById(id).body();
+    }
+
+    @Override
+    public VersionedResponse<ProductResponse> findVersionedById(Long id) {
         log.info("🔍 Buscando produto por ID: {}", id);
+        return productCache.get(id, this::load);
+    }
+
+    private ProductResponse load(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("❌ Produto não encontrado: ID {}", id);
                     return new ResourceNotFoundException("Produto não encontrado: " + id);
                 });
-        return ProductMapper.toResponseDTO(product);
+        return ProductMapper.toResponseDTO(product, inventoryService.available(id));
     }
 
     @Override
@@ -74,12 +304,20 @@ public class ProductServiceImpl implements ProductService {
         log.info("🛠️ Criando novo produto: {}", productRequestDTO.getName());
         Product product = ProductMapper.toEntity(productRequestDTO);
         Product saved = productRepository.save(product);
+        // Abre o saldo com o estoque inicial; não lança nada no ledger
+        inventoryService.restock(saved.getId(), saved.getStock());
+        productNameIndex.changedAfterCommit(saved.getId(), null, saved.getName());
+        productSuggestIndex.changedAfterCommit(saved.getId(), null, saved.getName());
+        productSearchIndex.indexAfterCommit(saved);
+        productFacetIndex.indexAfterCommit(saved);
+        // Por último: quem vê a versão nova da listagem já encontra os índices atualizados
+        productListCache.bumpAfterCommit();
         log.info("✅ Produto salvo com ID: {}", saved.getId());
         return ProductMapper.toResponseDTO(saved);
     }
 
     @Override
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public ProductResponse update(Long id, ProductRequest productRequestDTO) {
         log.info("✏️ Atualizando produto ID {}", id);
         Product existing = productRepository.findById(id)
@@ -88,22 +326,38 @@ public class ProductServiceImpl implements ProductService {
                     return new ResourceNotFoundException("Produto não encontrado: " + id);
                 });
 
+        String previousName = existing.getName();
         existing.updateFrom(productRequestDTO);
         Product updated = productRepository.save(existing);
+        int stock = inventoryService.restock(id, productRequestDTO.getStock());
+        productCache.evictAfterCommit(id);
+        productNameIndex.changedAfterCommit(id, previousName, updated.getName());
+        productSuggestIndex.changedAfterCommit(id, previousName, updated.getName());
+        productSearchIndex.indexAfterCommit(updated);
+        productFacetIndex.indexAfterCommit(updated);
+        productListCache.bumpAfterCommit();
         log.info("✅ Produto atualizado com sucesso: ID {}", updated.getId());
 
-        return ProductMapper.toResponseDTO(updated);
+        return ProductMapper.toResponseDTO(updated, stock);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
         log.info("🗑️ Deletando produto com ID: {}", id);
-        if (!productRepository.existsById(id)) {
-            log.warn("❌ Produto não encontrado para exclusão: {}", id);
-            throw new ResourceNotFoundException("Produto não encontrado: " + id);
-        }
-        productRepository.deleteById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("❌ Produto não encontrado para exclusão: {}", id);
+                    return new ResourceNotFoundException("Produto não encontrado: " + id);
+                });
+        productRepository.delete(product);
+        inventoryService.forget(id);
+        productCache.evictAfterCommit(id);
+        productNameIndex.changedAfterCommit(id, product.getName(), null);
+        productSuggestIndex.changedAfterCommit(id, product.getName(), null);
+        productSearchIndex.removeAfterCommit(id);
+        productFacetIndex.removeAfterCommit(id);
+        productListCache.bumpAfterCommit();
         log.info("✅ Produto removido com sucesso: ID {}", id);
     }
 }
\ No newline at end of file
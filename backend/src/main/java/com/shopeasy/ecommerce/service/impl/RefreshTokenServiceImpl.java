@@ -0,0 +1,122 @@
+package com.shopeasy.ecommerce.service.impl;
+
+import com.shopeasy.ecommerce.exception.UnauthorizedException;
+import com.shopeasy.ecommerce.model.RefreshTokenFamily;
+import com.shopeasy.ecommerce.model.UsedRefreshToken;
+import com.shopeasy.ecommerce.repository.RefreshTokenFamilyRepository;
+import com.shopeasy.ecommerce.security.CustomUserDetailsService;
+import com.shopeasy.ecommerce.security.JwtUtil;
+import com.shopeasy.ecommerce.security.RefreshTokenRevocations;
+import com.shopeasy.ecommerce.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final RefreshTokenRevocations revocations;
+
+    @Override
+    @Transactional
+    public String issue(UserDetails user) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshTokenFamily family = familyRepository.save(RefreshTokenFamily.builder()
+                .id(UUID.randomUUID().toString())
+                .username(user.getUsername())
+                .createdAt(now)
+                .expiresAt(nextExpiration(now))
+                .build());
+        return jwtUtil.generateRefreshToken(user, UUID.randomUUID().toString(), family.getId());
+    }
+
+    @Override
+    public Rotation rotate(String refreshToken) {
+        RefreshClaims claims = parse(refreshToken);
+
+        if (revocations.isUsed(claims.tokenId())) {
+            reuseDetected(claims);
+        }
+
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(claims.username());
+        } catch (UsernameNotFoundException e) {
+            throw new UnauthorizedException("Token inválido ou expirado");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UsedRefreshToken used = UsedRefreshToken.builder()
+                .id(claims.tokenId())
+                .familyId(claims.familyId())
+                .usedAt(now)
+                .expiresAt(claims.expiresAt())
+                .build();
+        if (!revocations.markUsed(used, nextExpiration(now))) {
+            // Outra requisição trocou o mesmo token ao mesmo tempo
+            reuseDetected(claims);
+        }
+
+        String next = jwtUtil.generateRefreshToken(user, UUID.randomUUID().toString(), claims.familyId());
+        log.info("🔁 Refresh token rotacionado para {}", claims.username());
+        return new Rotation(user, next);
+    }
+
+    @Override
+    public int revokeAll(String refreshToken) {
+        RefreshClaims claims = parse(refreshToken);
+        List<String> families = familyRepository.findActiveIds(claims.username());
+        revocations.revokeFamilies(families);
+        log.info("🚪 {} sessões encerradas para {}", families.size(), claims.username());
+        return families.size();
+    }
+
+    private RefreshClaims parse(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Token inválido ou expirado");
+        }
+
+        String familyId = claims.get(JwtUtil.FAMILY_CLAIM, String.class);
+        // Tokens de acesso e refresh tokens anteriores às famílias não têm jti/fam
+        if (!JwtUtil.REFRESH_TYPE.equals(claims.get(JwtUtil.TYPE_CLAIM)) || claims.getId() == null
+                || familyId == null || claims.getSubject() == null) {
+            throw new UnauthorizedException("Token inválido ou expirado");
+        }
+        if (revocations.isFamilyRevoked(familyId)) {
+            throw new UnauthorizedException("Token revogado");
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        return new RefreshClaims(claims.getId(), familyId, claims.getSubject(), expiresAt);
+    }
+
+    private void reuseDetected(RefreshClaims claims) {
+        log.warn("🚨 Refresh token reutilizado, revogando a família {} de {}", claims.familyId(), claims.username());
+        revocations.revokeFamilies(List.of(claims.familyId()));
+        throw new UnauthorizedException("Token revogado");
+    }
+
+    private LocalDateTime nextExpiration(LocalDateTime now) {
+        return now.plusNanos(jwtUtil.getRefreshTokenExpirationMs() * 1_000_000);
+    }
+
+    private record RefreshClaims(String tokenId, String familyId, String username, LocalDateTime expiresAt) {
+    }
+}
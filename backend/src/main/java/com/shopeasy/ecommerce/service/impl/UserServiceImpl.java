@@ -7,12 +7,14 @@ import com.shopeasy.ecommerce.exception.ResourceNotFoundException;
 import com.shopeasy.ecommerce.model.Role;
 import com.shopeasy.ecommerce.model.User;
 import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.security.UsernameIndex;
 import com.shopeasy.ecommerce.service.UserService;
 import java.util.List;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameIndex usernameIndex;
 
     @Override
     @Transactional(readOnly = true)
@@ -49,21 +52,21 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         log.info("❓ Verificando existência de username: {}", username);
-        return userRepository.existsByUsername(username);
+        return usernameIndex.exists(username);
     }
 
     @Override
     @Transactional
     public User save(User user) {
         log.info("💾 Salvando usuário: {}", user.getUsername());
-        return userRepository.save(user);
+        return insert(user);
     }
 
     @Override
     @Transactional
     public User create(RegisterRequest dto) {
         log.info("📝 Criando novo usuário: {}", dto.getUsername());
-        if (userRepository.existsByUsername(dto.getUsername())) {
+        if (usernameIndex.exists(dto.getUsername())) {
             log.warn("❌ Usuário já existe: {}", dto.getUsername());
             throw new BusinessException("Usuário já existe");
         }
@@ -74,7 +77,7 @@ public class UserServiceImpl implements UserService {
                 .role(Role.valueOf(dto.getRole().toUpperCase()))
                 .build();
 
-        User saved = userRepository.save(user);
+        User saved = insert(user);
         log.info("✅ Usuário criado com sucesso: {}", saved.getUsername());
         return saved;
     }
@@ -118,6 +121,21 @@ public class UserServiceImpl implements UserService {
     public void deleteByUsername(String username) {
         log.info("🗑️ Deletando usuário: {}", username);
         userRepository.deleteByUsername(username);
+        usernameIndex.removed(username);
         log.info("✅ Usuário deletado com sucesso: {}", username);
     }
-}
\ No newline at end of file
+
+    private User insert(User user) {
+        if (user.getId() != null) {
+            return userRepository.save(user);
+        }
+        usernameIndex.add(user.getUsername());
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Criado por outra instância depois da última sincronização do índice
+            log.warn("❌ Usuário já existe: {}", user.getUsername());
+            throw new BusinessException("Usuário já existe");
+        }
+    }
+}
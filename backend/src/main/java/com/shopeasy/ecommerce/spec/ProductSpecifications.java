@@ -4,24 +4,49 @@ import com.shopeasy.ecommerce.model.Product;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
+import java.util.List;
 
 public class ProductSpecifications {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     public static Specification<Product> filterBy(
             String nameContains,
             String categoryEquals,
             BigDecimal minPrice,
             BigDecimal maxPrice
+    ) {
+        return filterBy(nameContains, categoryEquals, minPrice, maxPrice, null);
+    }
+
+    /**
+     * @param nameCandidates ids que o índice de trigramas aponta para {@code nameContains};
+     *                       {@code null} para deixar o LIKE varrer a tabela
+     */
+    public static Specification<Product> filterBy(
+            String nameContains,
+            String categoryEquals,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            List<Long> nameCandidates
     ) {
         return (root, query, cb) -> {
             Predicate predicate = cb.conjunction();
 
-            // 1) Filtro por nome (LIKE %…%)
+            // 0) Candidatos do índice: o banco lê só essas linhas pela chave primária
+            if (nameCandidates != null) {
+                predicate = nameCandidates.isEmpty()
+                        ? cb.disjunction()
+                        : cb.and(predicate, root.get("id").in(nameCandidates));
+            }
+
+            // 1) Filtro por nome (LIKE %…%); % e _ do texto valem como letras, como no índice
             if (nameContains != null && !nameContains.isBlank()) {
                 predicate = cb.and(predicate,
                         cb.like(
                                 cb.lower(root.get("name")),
-                                "%" + nameContains.toLowerCase() + "%"
+                                "%" + escapeLike(nameContains.toLowerCase()) + "%",
+                                LIKE_ESCAPE
                         ));
             }
 
@@ -46,4 +71,15 @@ public class ProductSpecifications {
             return predicate;
         };
     }
+
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
 }
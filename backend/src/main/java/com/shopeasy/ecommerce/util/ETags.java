@@ -0,0 +1,29 @@
+package com.shopeasy.ecommerce.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ETags fortes a partir dos campos que compõem a representação. Mesmo conteúdo gera a
+ * mesma tag em qualquer instância, então CDN e navegador revalidam em qualquer uma.
+ */
+public class ETags {
+
+    public static String of(Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            // Separador para que ("ab", "c") e ("a", "bc") não colidam
+            digest.update((byte) 0);
+        }
+        byte[] hash = digest.digest();
+        return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+}
@@ -0,0 +1,44 @@
+package com.shopeasy.ecommerce.util;
+
+import com.shopeasy.ecommerce.exception.BusinessException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição (name, id) da paginação por cursor. O cliente recebe só o texto opaco de
+ * {@link #encode()} e o devolve sem interpretar.
+ */
+public record SeekCursor(boolean backward, String name, long id) {
+
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+
+    public static SeekCursor after(String name, long id) {
+        return new SeekCursor(false, name, id);
+    }
+
+    public static SeekCursor before(String name, long id) {
+        return new SeekCursor(true, name, id);
+    }
+
+    public String encode() {
+        String raw = (backward ? BACKWARD : FORWARD) + ":" + id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @return {@code null} se o cursor não foi informado */
+    public static SeekCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+                throw new BusinessException("Cursor inválido");
+            }
+            return new SeekCursor(BACKWARD.equals(parts[0]), parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+}
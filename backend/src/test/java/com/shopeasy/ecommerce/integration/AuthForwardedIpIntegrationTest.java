@@ -0,0 +1,46 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.request.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Servidor real: o Tomcat só aceita o X-Forwarded-For vindo de proxy confiável, e o teste
+ * conecta por loopback, como o ingress na rede do cluster.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"auth.throttle.ip.capacity=2", "auth.throttle.ip.refill-per-minute=1"})
+class AuthForwardedIpIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldThrottleEachForwardedClientIpSeparately() {
+        // Usernames diferentes: só o limite por IP entra em jogo
+        assertEquals(HttpStatus.UNAUTHORIZED, login("203.0.113.10"));
+        assertEquals(HttpStatus.UNAUTHORIZED, login("203.0.113.10"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("203.0.113.10"));
+
+        // Mesmo proxy, outro cliente
+        assertEquals(HttpStatus.UNAUTHORIZED, login("198.51.100.20"));
+    }
+
+    private HttpStatus login(String clientIp) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", clientIp);
+        LoginRequest body = new LoginRequest("ip-" + System.nanoTime(), "errada");
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/auth/login", new HttpEntity<>(body, headers),
+                String.class).getStatusCode().value());
+    }
+}
@@ -0,0 +1,89 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopeasy.ecommerce.dto.request.LoginRequest;
+import com.shopeasy.ecommerce.exception.TooManyRequestsException;
+import com.shopeasy.ecommerce.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthThrottleIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldThrottleRepeatedLoginsForSameUsernameBeforeHashing() throws Exception {
+        String body = objectMapper.writeValueAsString(new LoginRequest("alvo-" + System.nanoTime(), "errada"));
+
+        // Capacidade padrão de 5 tentativas por username
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .with(request -> {
+                                request.setRemoteAddr("10.0.0.1");
+                                return request;
+                            })
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Outro IP, mesmo username: o limite é por usuário
+        mockMvc.perform(post("/api/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void shouldRejectHashesBeyondPoolAndQueue() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // Uma tarefa ocupando a única thread e outra na única vaga da fila
+            callers.submit(() -> executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            callers.submit(() -> executor.submit(() -> null));
+            Thread.sleep(100);
+
+            assertThrows(TooManyRequestsException.class, () -> executor.submit(() -> null));
+            assertEquals(1.0, meterRegistry.get("auth_hash_rejected_total").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            executor.shutdown();
+        }
+    }
+}
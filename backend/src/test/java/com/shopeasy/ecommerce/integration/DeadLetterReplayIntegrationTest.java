@@ -0,0 +1,64 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dlt.DeadLetterReplayService;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@EmbeddedKafka(partitions = 3, topics = {OrderEventsTopicProperties.TOPIC, DeadLetterReplayService.DLT_TOPIC})
+class DeadLetterReplayIntegrationTest {
+
+    @Autowired
+    private DeadLetterReplayService deadLetterReplayService;
+    @Autowired
+    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Test
+    void shouldReplayDeadLettersOnlyOnceInBoundedChunks() {
+        int events = 10;
+        try (Consumer<String, String> consumer = newConsumer()) {
+            // Tombstone na DLT: ignorado sem travar o replay
+            kafkaTemplate.send(DeadLetterReplayService.DLT_TOPIC, "vazio", null);
+            for (long i = 0; i < events; i++) {
+                kafkaTemplate.send(DeadLetterReplayService.DLT_TOPIC, String.valueOf(i),
+                        new OrderEvent(i, 1L, BigDecimal.TEN, "NEW"));
+            }
+            kafkaTemplate.flush();
+
+            assertEquals(4, deadLetterReplayService.replay(4));
+            assertEquals(events - 4, deadLetterReplayService.replay(100));
+            // Tudo já foi confirmado pelo grupo de replay
+            assertEquals(0, deadLetterReplayService.replay(100));
+
+            assertEquals(events, KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), events).count());
+        }
+    }
+
+    private Consumer<String, String> newConsumer() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dlt-replay-test", "false", embeddedKafka);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<String, String>(props).createConsumer();
+        embeddedKafka.consumeFromEmbeddedTopics(consumer, true, OrderEventsTopicProperties.TOPIC);
+        return consumer;
+    }
+}
@@ -0,0 +1,233 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.inventory.HotInventory;
+import com.shopeasy.ecommerce.inventory.StockCompactor;
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.StockMovementRepository;
+import com.shopeasy.ecommerce.service.InventoryService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "inventory.hot.enabled=true",
+        "inventory.ledger.compaction-min-age-ms=0",
+        "inventory.ledger.compaction-interval-ms=3600000"
+})
+class InventoryIntegrationTest {
+
+    private static final int STOCK = 2000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private HotInventory hotInventory;
+    @Autowired
+    private StockCompactor stockCompactor;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM stock_balances");
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void shouldReserveWithoutOversellWithBalanceAndHotCounters() throws Exception {
+        Long regularProductId = newProduct("Produto comum").getId();
+        Long hotProductId = newProduct("Produto hot").getId();
+        hotInventory.track(hotProductId);
+
+        hammer(id -> inventoryService.reserve(Map.of(id, 1), null).isEmpty(), regularProductId);
+        hammer(id -> inventoryService.reserve(Map.of(id, 1), null).isEmpty(), hotProductId);
+
+        assertEquals(0, inventoryService.available(regularProductId));
+        assertEquals(0, inventoryService.available(hotProductId));
+        assertEquals(0, hotInventory.available(hotProductId));
+        assertEquals(2L * STOCK, stockMovementRepository.count());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareBalanceWithHotCounters() throws Exception {
+        Long regularProductId = newProduct("Produto comum").getId();
+        Long hotProductId = newProduct("Produto hot").getId();
+        hotInventory.track(hotProductId);
+
+        double regularRate = hammer(id -> inventoryService.reserve(Map.of(id, 1), null).isEmpty(), regularProductId);
+        double hotRate = hammer(id -> inventoryService.reserve(Map.of(id, 1), null).isEmpty(), hotProductId);
+
+        log.info("Reservas/s com {} threads - saldo no banco: {}, hot inventory: {}",
+                THREADS, Math.round(regularRate), Math.round(hotRate));
+    }
+
+    @Test
+    void shouldRecoverHotCountersFromLedger() {
+        Long productId = newProduct("Produto hot").getId();
+        hotInventory.track(productId);
+
+        inventoryService.reserve(Map.of(productId, 5), null);
+        tx.executeWithoutResult(s -> {
+            inventoryService.reserve(Map.of(productId, 7), null);
+            s.setRollbackOnly();
+        });
+        assertEquals(STOCK - 5, hotInventory.available(productId));
+
+        // Simula um restart: os contadores são descartados e reconstruídos a partir do ledger
+        hotInventory.untrack(productId);
+        hotInventory.track(productId);
+
+        assertEquals(STOCK - 5, hotInventory.available(productId));
+        assertEquals(STOCK - 5, inventoryService.available(productId));
+    }
+
+    @Test
+    void shouldApplyRegularMovementsAtOnceAndFoldHotOnesLater() {
+        Long regularProductId = newProduct("Produto comum").getId();
+        Long hotProductId = newProduct("Produto hot").getId();
+        hotInventory.track(hotProductId);
+
+        inventoryService.reserve(Map.of(regularProductId, 3, hotProductId, 3), null);
+        inventoryService.reserve(Map.of(regularProductId, 4, hotProductId, 4), null);
+        inventoryService.release(Map.of(regularProductId, 2, hotProductId, 2), null);
+        inventoryService.restock(regularProductId, 100);
+        inventoryService.restock(hotProductId, 100);
+
+        // O saldo do produto comum já tem tudo; o do produto hot espera a compactação
+        assertEquals(100, balance(regularProductId));
+        assertEquals(STOCK, balance(hotProductId));
+        assertEquals(100, inventoryService.available(regularProductId));
+        assertEquals(100, inventoryService.available(hotProductId));
+
+        assertEquals(4, stockCompactor.compact());
+
+        assertEquals(100, balance(hotProductId));
+        assertEquals(100, inventoryService.available(hotProductId));
+        assertEquals(8, stockMovementRepository.count());
+        assertEquals(0, stockCompactor.compact());
+    }
+
+    @Test
+    void shouldReserveWhileProductRowIsLocked() throws Exception {
+        Long productId = newProduct("Produto em edição").getId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holder = executor.submit(() -> tx.executeWithoutResult(s -> {
+            jdbcTemplate.queryForList("SELECT id FROM products WHERE id = ? FOR UPDATE", productId);
+            locked.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+            // Só o saldo é alterado: a reserva não espera o lock da linha do produto
+            assertEquals(Map.of(), inventoryService.reserve(Map.of(productId, 1), null));
+            assertEquals(STOCK - 1, inventoryService.available(productId));
+        } finally {
+            release.countDown();
+            holder.get(30, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldOpenBalanceForProductsSavedOutsideTheService() {
+        Long productId = productRepository.save(Product.builder()
+                .name("Produto importado")
+                .price(BigDecimal.TEN)
+                .stock(STOCK)
+                .build()).getId();
+        assertEquals(STOCK, inventoryService.available(productId));
+
+        assertEquals(Map.of(), inventoryService.reserve(Map.of(productId, 5), null));
+        assertEquals(STOCK - 5, balance(productId));
+        assertEquals(Map.of(productId, STOCK - 5), inventoryService.reserve(Map.of(productId, STOCK), null));
+    }
+
+    private Product newProduct(String name) {
+        Product product = productRepository.save(Product.builder()
+                .name(name)
+                .price(BigDecimal.TEN)
+                .stock(STOCK)
+                .build());
+        // Como na criação pelo serviço: abre o saldo com o estoque inicial
+        inventoryService.restock(product.getId(), STOCK);
+        return product;
+    }
+
+    private int balance(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM stock_balances WHERE product_id = ?",
+                Integer.class, productId);
+    }
+
+    // Dispara reservas de 1 unidade até o estoque acabar e retorna reservas por segundo
+    private double hammer(Predicate<Long> reserve, Long productId) throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                while (reserve.test(productId)) {
+                    reserved.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        executor.shutdown();
+
+        assertEquals(STOCK, reserved.get());
+        return reserved.get() / seconds;
+    }
+}
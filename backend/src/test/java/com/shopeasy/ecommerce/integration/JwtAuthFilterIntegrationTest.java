@@ -0,0 +1,151 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.model.Role;
+import com.shopeasy.ecommerce.model.User;
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.security.CustomUserDetailsService;
+import com.shopeasy.ecommerce.security.JwtAuthFilter;
+import com.shopeasy.ecommerce.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class JwtAuthFilterIntegrationTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    private JwtAuthFilter jwtAuthFilter;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateFromTokenClaimsWithoutQueries() throws Exception {
+        String token = tokenFor(Role.ADMIN);
+
+        SqlStatementCounter.reset();
+        Authentication authentication = filter(token);
+        // Segunda vez vem do cache de tokens verificados
+        assertEquals(authentication.getName(), filter(token).getName());
+
+        assertEquals(0, SqlStatementCounter.selectCount());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareCachedClaimsWithParserAndDatabase() throws Exception {
+        String token = tokenFor(Role.ADMIN);
+
+        double before = nanosPerRequest(() -> legacyAuthenticate(token));
+        double after = nanosPerRequest(() -> filter(token));
+
+        log.info("JwtAuthFilter por requisição - antes (parser novo + banco): {} ns, depois (cache): {} ns",
+                Math.round(before), Math.round(after));
+        assertTrue(after < before);
+    }
+
+    @Test
+    void shouldRejectTamperedToken() throws Exception {
+        String token = tokenFor(Role.USER);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        jwtAuthFilter.doFilter(request(tampered), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    private String tokenFor(Role role) {
+        User user = userRepository.save(User.builder()
+                .username("filtro-" + System.nanoTime())
+                .password("x")
+                .role(role)
+                .build());
+        return jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getUsername()));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                authentication.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        };
+        jwtAuthFilter.doFilter(request(token), new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+        return authentication.get();
+    }
+
+    // Caminho anterior do filtro: parser e chave novos a cada requisição e usuário lido do banco
+    private void legacyAuthenticate(String token) {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtUtil.getSecret().getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        SecurityContextHolder.clearContext();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.setServletPath("/api/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static double nanosPerRequest(ThrowingRunnable op) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - begin) / (double) ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
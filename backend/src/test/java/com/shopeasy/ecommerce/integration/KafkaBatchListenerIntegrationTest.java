@@ -0,0 +1,261 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.kafka.config.KafkaListenerConfig;
+import com.shopeasy.ecommerce.kafka.config.OrderEventsConsumerProperties;
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.consumer.KafkaConsumerService;
+import com.shopeasy.ecommerce.kafka.dlt.DeadLetterReplayService;
+import com.shopeasy.ecommerce.kafka.dlt.OrderEventMetrics;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.serialization.OrderEventDeserializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Usa as factories reais do {@link KafkaListenerConfig} (desligado no perfil de teste)
+ * para comparar o modo por registro com o modo em lote no broker embarcado.
+ */
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "kafka.order-events.partitions=" + KafkaBatchListenerIntegrationTest.PARTITIONS)
+@EmbeddedKafka(partitions = KafkaBatchListenerIntegrationTest.PARTITIONS,
+        topics = {OrderEventsTopicProperties.TOPIC, KafkaBatchListenerIntegrationTest.RETRY_TOPIC,
+                KafkaBatchListenerIntegrationTest.UNREADABLE_TOPIC, DeadLetterReplayService.DLT_TOPIC})
+class KafkaBatchListenerIntegrationTest {
+
+    static final int PARTITIONS = 3;
+    static final String RETRY_TOPIC = "order-events-batch-retry";
+    static final String UNREADABLE_TOPIC = "order-events-batch-unreadable";
+    private static final int EVENTS = 20_000;
+
+    @Autowired
+    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    @Autowired
+    private OrderEventsTopicProperties topicProperties;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    private final KafkaListenerConfig listenerConfig = new KafkaListenerConfig();
+
+    @Test
+    @Tag("benchmark")
+    void shouldConsumeFasterInBatchModeThanRecordMode() throws Exception {
+        for (long i = 0; i < EVENTS; i++) {
+            kafkaTemplate.send(OrderEventsTopicProperties.TOPIC, String.valueOf(i), event(i));
+        }
+        kafkaTemplate.flush();
+
+        double recordRate = measureRecordMode();
+        double batchRate = measureBatchMode();
+
+        log.info("Consumo de {} eventos - modo registro: {}/s, modo lote: {}/s",
+                EVENTS, Math.round(recordRate), Math.round(batchRate));
+    }
+
+    @Test
+    void shouldSeekBackToFailedRecordAndKeepEarlierOnesAcknowledged() throws Exception {
+        int events = 100;
+        long failingOrderId = 40;
+        for (long i = 0; i < events; i++) {
+            // Chave fixa: todos na mesma partição, na ordem de envio
+            kafkaTemplate.send(RETRY_TOPIC, "mesma-chave", event(i));
+        }
+        kafkaTemplate.flush();
+
+        Map<Long, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        Set<Long> processed = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(events);
+        AtomicInteger failures = new AtomicInteger();
+
+        ConcurrentMessageListenerContainer<String, OrderEvent> container = batchFactory(500)
+                .createContainer(RETRY_TOPIC);
+        container.getContainerProperties().setGroupId("batch-retry");
+        container.getContainerProperties().setMessageListener(
+                (BatchAcknowledgingMessageListener<String, OrderEvent>) (records, ack) -> {
+                    for (int i = 0; i < records.size(); i++) {
+                        Long orderId = records.get(i).value().getOrderId();
+                        int attempt = attempts.computeIfAbsent(orderId, k -> new AtomicInteger()).incrementAndGet();
+                        if (orderId == failingOrderId && attempt == 1) {
+                            failures.incrementAndGet();
+                            throw new BatchListenerFailedException("Falha simulada",
+                                    new IllegalStateException("pedido " + orderId), i);
+                        }
+                        // Conta cada pedido uma vez, no primeiro processamento sem falha
+                        if (processed.add(orderId)) {
+                            done.countDown();
+                        }
+                    }
+                    ack.acknowledge();
+                });
+
+        container.start();
+        try {
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        } finally {
+            container.stop();
+        }
+
+        assertEquals(1, failures.get());
+        assertEquals(2, attempts.get(failingOrderId).get());
+        for (long i = 0; i < failingOrderId; i++) {
+            assertEquals(1, attempts.get(i).get(), "Evento anterior à falha reprocessado: " + i);
+        }
+        assertEquals(events, attempts.size());
+    }
+
+    @Test
+    void shouldSendUnreadableBytesToDeadLetterTopic() throws Exception {
+        byte[] garbage = {0x00, 0x13, 0x37};
+        DefaultKafkaProducerFactory<String, byte[]> rawFactory = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(embeddedKafka), new StringSerializer(), new ByteArraySerializer());
+        try {
+            // Mesma chave: o lixo fica entre dois eventos válidos na mesma partição
+            kafkaTemplate.send(UNREADABLE_TOPIC, "mesma-chave", event(1)).get();
+            new KafkaTemplate<>(rawFactory).send(UNREADABLE_TOPIC, "mesma-chave", garbage).get();
+            kafkaTemplate.send(UNREADABLE_TOPIC, "mesma-chave", event(2)).get();
+        } finally {
+            rawFactory.destroy();
+        }
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderEventMetrics metrics = new OrderEventMetrics(meterRegistry);
+        KafkaConsumerService consumerService = new KafkaConsumerService(metrics);
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(1);
+
+        ConcurrentMessageListenerContainer<String, OrderEvent> container = batchFactory(500, metrics)
+                .createContainer(UNREADABLE_TOPIC);
+        container.getContainerProperties().setGroupId("batch-unreadable");
+        container.getContainerProperties().setMessageListener(
+                (BatchAcknowledgingMessageListener<String, OrderEvent>) (records, ack) -> {
+                    consumerService.consumeBatch(records.stream().map(ConsumerRecord::value).toList(), ack);
+                    records.forEach(r -> handled.add(r.value().getOrderId()));
+                    if (handled.contains(2L)) {
+                        done.countDown();
+                    }
+                });
+
+        container.start();
+        try (Consumer<String, byte[]> dltConsumer = dltConsumer()) {
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+            ConsumerRecord<String, byte[]> dead = KafkaTestUtils.getSingleRecord(dltConsumer,
+                    DeadLetterReplayService.DLT_TOPIC, Duration.ofSeconds(30));
+            assertArrayEquals(garbage, dead.value());
+        } finally {
+            container.stop();
+        }
+
+        assertEquals(1, meterRegistry.get("order_events_dlt_total").tag("source", "batch").counter().count());
+    }
+
+    private double measureRecordMode() throws Exception {
+        CountDownLatch done = new CountDownLatch(EVENTS);
+        ConcurrentMessageListenerContainer<String, OrderEvent> container = listenerConfig
+                .kafkaListenerContainerFactory(consumerFactory(), topicProperties)
+                .createContainer(OrderEventsTopicProperties.TOPIC);
+        container.getContainerProperties().setGroupId("bench-record");
+        container.getContainerProperties().setMessageListener(
+                (MessageListener<String, OrderEvent>) record -> done.countDown());
+        return run(container, done);
+    }
+
+    private double measureBatchMode() throws Exception {
+        CountDownLatch done = new CountDownLatch(EVENTS);
+        ConcurrentMessageListenerContainer<String, OrderEvent> container = batchFactory(500)
+                .createContainer(OrderEventsTopicProperties.TOPIC);
+        container.getContainerProperties().setGroupId("bench-batch");
+        container.getContainerProperties().setMessageListener(
+                (BatchAcknowledgingMessageListener<String, OrderEvent>) (records, ack) -> {
+                    records.forEach(r -> done.countDown());
+                    ack.acknowledge();
+                });
+        return run(container, done);
+    }
+
+    private double run(ConcurrentMessageListenerContainer<String, OrderEvent> container, CountDownLatch done)
+            throws Exception {
+        container.start();
+        try {
+            ContainerTestUtils.waitForAssignment(container, PARTITIONS);
+            long begin = System.nanoTime();
+            assertTrue(done.await(120, TimeUnit.SECONDS));
+            return EVENTS / ((System.nanoTime() - begin) / 1_000_000_000.0);
+        } finally {
+            container.stop();
+        }
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, OrderEvent> batchFactory(int maxPollRecords) {
+        return batchFactory(maxPollRecords, new OrderEventMetrics(new SimpleMeterRegistry()));
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, OrderEvent> batchFactory(int maxPollRecords,
+                                                                                     OrderEventMetrics metrics) {
+        OrderEventsConsumerProperties consumerProperties = new OrderEventsConsumerProperties();
+        consumerProperties.setBatch(true);
+        consumerProperties.setMaxPollRecords(maxPollRecords);
+        return listenerConfig.batchKafkaListenerContainerFactory(
+                consumerFactory(),
+                listenerConfig.batchErrorHandler(kafkaTemplate, metrics),
+                topicProperties, consumerProperties);
+    }
+
+    private ConsumerFactory<String, OrderEvent> consumerFactory() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("unused", "false", embeddedKafka);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // Como no application.yml: bytes ilegíveis chegam ao listener como valor nulo
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, OrderEventDeserializer.class);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    private Consumer<String, byte[]> dltConsumer() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dlt-unreadable", "false", embeddedKafka);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<String, byte[]>(props).createConsumer();
+        embeddedKafka.consumeFromAnEmbeddedTopic(consumer, DeadLetterReplayService.DLT_TOPIC);
+        return consumer;
+    }
+
+    private static OrderEvent event(long orderId) {
+        return new OrderEvent(orderId, 1L, BigDecimal.TEN, "NEW");
+    }
+}
@@ -0,0 +1,129 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.serialization.OrderEventDeserializer;
+import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "kafka.order-events.partitions=" + KafkaOrderingIntegrationTest.PARTITIONS)
+@EmbeddedKafka(partitions = KafkaOrderingIntegrationTest.PARTITIONS, topics = OrderEventsTopicProperties.TOPIC)
+class KafkaOrderingIntegrationTest {
+
+    static final int PARTITIONS = 6;
+    private static final int ORDERS = 60;
+    private static final int EVENTS_PER_ORDER = 25;
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+    @Autowired
+    private OrderEventsTopicProperties topicProperties;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Test
+    void shouldKeepPerOrderOrderingWhileConsumingPartitionsInParallel() throws Exception {
+        Map<Long, List<Integer>> received = new ConcurrentHashMap<>();
+        Set<String> consumerThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(ORDERS * EVENTS_PER_ORDER);
+
+        ConcurrentMessageListenerContainer<String, OrderEvent> container = newContainer(record -> {
+            consumerThreads.add(Thread.currentThread().getName());
+            // O total carrega o número de sequência do evento dentro do pedido
+            received.computeIfAbsent(record.value().getOrderId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(record.value().getTotal().intValue());
+            done.countDown();
+        });
+        container.start();
+        ContainerTestUtils.waitForAssignment(container, PARTITIONS);
+        awaitSpreadAssignment(container);
+
+        // Intercala os pedidos para que a ordem só se mantenha se a chave fixar a partição
+        for (int seq = 0; seq < EVENTS_PER_ORDER; seq++) {
+            for (long orderId = 1; orderId <= ORDERS; orderId++) {
+                kafkaProducerService.sendOrderEvent(new OrderEvent(orderId, orderId % 7, BigDecimal.valueOf(seq), "NEW"));
+            }
+        }
+
+        try {
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        } finally {
+            container.stop();
+        }
+
+        log.info("{} eventos de {} pedidos consumidos por {} threads em {} partições",
+                ORDERS * EVENTS_PER_ORDER, ORDERS, consumerThreads.size(), PARTITIONS);
+
+        assertEquals(PARTITIONS, topicProperties.getPartitions());
+        assertTrue(consumerThreads.size() > 1);
+        assertEquals(ORDERS, received.size());
+        received.forEach((orderId, sequence) -> {
+            for (int i = 0; i < EVENTS_PER_ORDER; i++) {
+                assertEquals(i, sequence.get(i), "Evento fora de ordem no pedido " + orderId);
+            }
+        });
+    }
+
+    /**
+     * O total de partições atribuídas chega a {@code PARTITIONS} antes do rebalance terminar, quando
+     * um só consumidor filho ainda pode ter todas; espera até elas estarem divididas entre os filhos.
+     */
+    private static void awaitSpreadAssignment(ConcurrentMessageListenerContainer<?, ?> container)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            Collection<Collection<TopicPartition>> assignments = container.getAssignmentsByClientId().values();
+            long consumers = assignments.stream().filter(partitions -> !partitions.isEmpty()).count();
+            int assigned = assignments.stream().mapToInt(Collection::size).sum();
+            if (consumers > 1 && assigned == PARTITIONS) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Partições não foram divididas entre os consumidores: " + container.getAssignmentsByClientId());
+    }
+
+    private ConcurrentMessageListenerContainer<String, OrderEvent> newContainer(MessageListener<String, OrderEvent> listener) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("ordering-test", "false", embeddedKafka);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, OrderEventDeserializer.class);
+
+        ContainerProperties containerProperties = new ContainerProperties(OrderEventsTopicProperties.TOPIC);
+        containerProperties.setMessageListener(listener);
+        ConcurrentMessageListenerContainer<String, OrderEvent> container = new ConcurrentMessageListenerContainer<>(
+                new DefaultKafkaConsumerFactory<>(props), containerProperties);
+        // Mesma regra do KafkaListenerConfig: uma thread por partição
+        container.setConcurrency(topicProperties.getPartitions());
+        return container;
+    }
+}
@@ -0,0 +1,95 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.kafka.config.KafkaProducerProperties;
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
+import com.shopeasy.ecommerce.kafka.serialization.OrderEventSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+@EmbeddedKafka(partitions = 3, topics = OrderEventsTopicProperties.TOPIC)
+class KafkaProducerProfileIntegrationTest {
+
+    private static final int EVENTS = 50_000;
+    private static final int MAX_IN_FLIGHT = 1_000;
+
+    @Autowired
+    private OrderEventsTopicProperties topicProperties;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareProfilesWithBoundedInFlightSends() throws Exception {
+        // Aquece broker e metadados antes de medir
+        measure(KafkaProducerProperties.Profile.LATENCY);
+
+        double latency = measure(KafkaProducerProperties.Profile.LATENCY);
+        double throughput = measure(KafkaProducerProperties.Profile.THROUGHPUT);
+
+        log.info("Producer com {} eventos - perfil LATENCY: {}/s, perfil THROUGHPUT: {}/s",
+                EVENTS, Math.round(latency), Math.round(throughput));
+    }
+
+    private double measure(KafkaProducerProperties.Profile profile) throws Exception {
+        KafkaProducerProperties properties = new KafkaProducerProperties();
+        properties.setProfile(profile);
+        properties.setMaxInFlight(MAX_IN_FLIGHT);
+
+        Map<String, Object> config = KafkaTestUtils.producerProps(embeddedKafka);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, OrderEventSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        profile.applyTo(config);
+
+        DefaultKafkaProducerFactory<String, OrderEvent> producerFactory = new DefaultKafkaProducerFactory<>(config);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaProducerService service = new KafkaProducerService(
+                new KafkaTemplate<>(producerFactory), topicProperties, properties, meterRegistry);
+        try {
+            List<CompletableFuture<?>> futures = new ArrayList<>(EVENTS);
+            int maxObserved = 0;
+            long begin = System.nanoTime();
+            for (long i = 0; i < EVENTS; i++) {
+                OrderEvent event = new OrderEvent(i, i % 100, BigDecimal.TEN, "NEW");
+                futures.add(service.send(OrderEventsTopicProperties.TOPIC, topicProperties.keyOf(event), event));
+                maxObserved = Math.max(maxObserved, service.inFlight());
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(120, TimeUnit.SECONDS);
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+            assertTrue(maxObserved <= MAX_IN_FLIGHT);
+            assertEquals(0, service.inFlight());
+            assertEquals(EVENTS, meterRegistry.get("order_events_sent_total").counter().count());
+            return EVENTS / seconds;
+        } finally {
+            service.flush();
+            producerFactory.destroy();
+        }
+    }
+}
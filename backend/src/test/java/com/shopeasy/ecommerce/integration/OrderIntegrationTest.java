@@ -3,6 +3,7 @@ package com.shopeasy.ecommerce.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopeasy.ecommerce.dto.request.OrderItemRequest;
 import com.shopeasy.ecommerce.dto.request.OrderRequest;
+import com.shopeasy.ecommerce.exception.BusinessException;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
 import com.shopeasy.ecommerce.model.Product;
 import com.shopeasy.ecommerce.model.Role;
@@ -12,7 +13,11 @@ import com.shopeasy.ecommerce.repository.ProductRepository;
 import com.shopeasy.ecommerce.repository.UserRepository;
 import com.shopeasy.ecommerce.security.CustomUserDetails;
 import com.shopeasy.ecommerce.security.JwtUtil;
+import com.shopeasy.ecommerce.service.InventoryService;
+import com.shopeasy.ecommerce.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,17 +29,27 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
-@SpringBootTest
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 class OrderIntegrationTest {
@@ -53,6 +68,10 @@ class OrderIntegrationTest {
         private PasswordEncoder passwordEncoder;
         @Autowired
         private JwtUtil jwtUtil;
+        @Autowired
+        private OrderService orderService;
+        @Autowired
+        private InventoryService inventoryService;
 
         private String token;
 
@@ -113,4 +132,97 @@ class OrderIntegrationTest {
                                 .andExpect(jsonPath("$.total").value(100.0))
                                 .andExpect(jsonPath("$.items[0].quantity").value(2));
         }
+
+        @Test
+        void shouldPlaceOrderWithFixedNumberOfQueries() throws Exception {
+                int singleLine = countSelectsForOrderWithLines(1);
+                int manyLines = countSelectsForOrderWithLines(50);
+
+                assertEquals(singleLine, manyLines);
+        }
+
+        private int countSelectsForOrderWithLines(int lines) throws Exception {
+                List<OrderItemRequest> items = new ArrayList<>();
+                for (int i = 0; i < lines; i++) {
+                        Product product = productRepository.save(Product.builder()
+                                        .name("Produto " + lines + "-" + i)
+                                        .price(BigDecimal.TEN)
+                                        .stock(10)
+                                        .build());
+                        items.add(OrderItemRequest.builder().productId(product.getId()).quantity(1).build());
+                }
+
+                SqlStatementCounter.reset();
+                mockMvc.perform(post("/api/orders")
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(OrderRequest.builder().items(items).build())))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(lines));
+                return SqlStatementCounter.selectCount();
+        }
+
+        @Test
+        void shouldNeverOversellUnderConcurrentCheckouts() throws Exception {
+                checkoutConcurrently(productRepository.findAll().get(0), 8);
+        }
+
+        @Test
+        @Tag("benchmark")
+        void shouldMeasureConcurrentCheckoutThroughput() throws Exception {
+                Product product = productRepository.save(Product.builder()
+                                .name("Produto carga")
+                                .price(BigDecimal.TEN)
+                                .stock(2000)
+                                .build());
+                int threads = 16;
+
+                double ordersPerSecond = checkoutConcurrently(product, threads);
+
+                log.info("Checkout concorrente com {} threads: {} pedidos/s", threads, Math.round(ordersPerSecond));
+        }
+
+        // Esgota o estoque com pedidos de 1 unidade e retorna tentativas por segundo
+        private double checkoutConcurrently(Product product, int threads) throws Exception {
+                int initialStock = product.getStock();
+                int attemptsPerThread = initialStock / threads * 2;
+                long ordersBefore = orderRepository.count();
+
+                OrderRequest request = OrderRequest.builder()
+                                .items(List.of(OrderItemRequest.builder().productId(product.getId()).quantity(1).build()))
+                                .build();
+
+                AtomicInteger placed = new AtomicInteger();
+                AtomicInteger rejected = new AtomicInteger();
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                        futures.add(executor.submit(() -> {
+                                start.await();
+                                for (int i = 0; i < attemptsPerThread; i++) {
+                                        try {
+                                                orderService.create("cliente1", request);
+                                                placed.incrementAndGet();
+                                        } catch (BusinessException e) {
+                                                rejected.incrementAndGet();
+                                        }
+                                }
+                                return null;
+                        }));
+                }
+
+                long begin = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                        future.get(120, TimeUnit.SECONDS);
+                }
+                double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+                executor.shutdown();
+
+                assertEquals(initialStock, placed.get());
+                assertEquals(0, inventoryService.available(product.getId()));
+                assertEquals(ordersBefore + initialStock, orderRepository.count());
+                return (placed.get() + rejected.get()) / seconds;
+        }
 }
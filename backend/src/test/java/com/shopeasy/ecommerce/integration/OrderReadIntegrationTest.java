@@ -0,0 +1,187 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopeasy.ecommerce.dto.response.OrderResponse;
+import com.shopeasy.ecommerce.mapper.OrderMapper;
+import com.shopeasy.ecommerce.model.Order;
+import com.shopeasy.ecommerce.model.OrderItem;
+import com.shopeasy.ecommerce.model.OrderStatus;
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.model.Role;
+import com.shopeasy.ecommerce.model.User;
+import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.service.OrderService;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class OrderReadIntegrationTest {
+
+    private static final int ORDERS = 10_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldLoadOrderPagesInFixedQueriesAndCompareWithEntityMapping() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        seed(tx);
+        Pageable pageable = PageRequest.of(3, PAGE_SIZE, Sort.by("createdAt").descending());
+
+        // Caminho antigo: entidades paginadas e itens/produtos carregados sob demanda no mapper
+        Measurement entities = measure(() -> tx.execute(s -> orderRepository.findAll(pageable).map(OrderMapper::toDTO)));
+        Measurement projections = measure(() -> orderService.findByStatus(OrderStatus.PAID, pageable));
+
+        assertEquals(PAGE_SIZE, projections.page().getContent().size());
+        assertTrue(projections.page().getContent().stream().allMatch(o -> o.getItems().size() == ITEMS_PER_ORDER));
+        // Página, contagem e itens
+        assertEquals(3, projections.selects());
+        assertTrue(entities.selects() > PAGE_SIZE);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareEntityMappingWithProjectionLatency() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        seed(tx);
+        Pageable pageable = PageRequest.of(3, PAGE_SIZE, Sort.by("createdAt").descending());
+
+        Measurement entities = measure(() -> tx.execute(s -> orderRepository.findAll(pageable).map(OrderMapper::toDTO)));
+        Measurement projections = measure(() -> orderService.findByStatus(OrderStatus.PAID, pageable));
+
+        log.info("Página de {} pedidos - entidades: {} consultas / {} ms, projeção: {} consultas / {} ms",
+                PAGE_SIZE, entities.selects(), entities.millis(), projections.selects(), projections.millis());
+    }
+
+    @Test
+    void shouldExportEveryOrderAsNdjsonInOneQuery() throws Exception {
+        seed(new TransactionTemplate(transactionManager));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        SqlStatementCounter.reset();
+        long exported = orderService.export(OrderStatus.PAID, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ORDERS, exported);
+        assertEquals(ORDERS, lines.length);
+        assertEquals(1, SqlStatementCounter.selectCount());
+        OrderResponse first = objectMapper.readValue(lines[0], OrderResponse.class);
+        assertEquals(ITEMS_PER_ORDER, first.getItems().size());
+
+        assertEquals(0, orderService.export(OrderStatus.CANCELED, null, null, new ByteArrayOutputStream()));
+        assertEquals(0, orderService.export(null, null, LocalDateTime.now().minusDays(1), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldMeasureNdjsonExport() throws Exception {
+        seed(new TransactionTemplate(transactionManager));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        SqlStatementCounter.reset();
+        long begin = System.nanoTime();
+        long exported = orderService.export(OrderStatus.PAID, null, null, out);
+        double millis = (System.nanoTime() - begin) / 1_000_000.0;
+
+        log.info("Export de {} pedidos: {} consultas / {} ms / {} KB",
+                exported, SqlStatementCounter.selectCount(), millis, out.size() / 1024);
+    }
+
+    private void seed(TransactionTemplate tx) {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+
+        User user = userRepository.save(User.builder()
+                .username("leitor-" + System.nanoTime())
+                .password("x")
+                .role(Role.USER)
+                .build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Produto leitura " + i)
+                    .price(BigDecimal.TEN)
+                    .stock(100)
+                    .build()));
+        }
+
+        for (int from = 0; from < ORDERS; from += 500) {
+            int start = from;
+            tx.executeWithoutResult(s -> {
+                List<Order> batch = new ArrayList<>();
+                for (int n = start; n < start + 500; n++) {
+                    Order order = Order.builder().user(user).status(OrderStatus.PAID).build();
+                    for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                        Product product = products.get((n + i) % products.size());
+                        order.getItems().add(OrderItem.builder()
+                                .order(order)
+                                .product(product)
+                                .productName(product.getName())
+                                .quantity(1)
+                                .unitPrice(product.getPrice())
+                                .build());
+                    }
+                    order.calculateTotal();
+                    batch.add(order);
+                }
+                orderRepository.saveAll(batch);
+            });
+        }
+    }
+
+    private static <T> Measurement measure(Supplier<T> read) {
+        read.get();
+        SqlStatementCounter.reset();
+        long begin = System.nanoTime();
+        Object result = read.get();
+        double millis = (System.nanoTime() - begin) / 1_000_000.0;
+        return new Measurement(SqlStatementCounter.selectCount(), millis, result);
+    }
+
+    private record Measurement(int selects, double millis, Object result) {
+
+        @SuppressWarnings("unchecked")
+        Page<OrderResponse> page() {
+            return (Page<OrderResponse>) result;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.kafka.config.OrderEventsTopicProperties;
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import com.shopeasy.ecommerce.kafka.outbox.OrderEventOutbox;
+import com.shopeasy.ecommerce.kafka.outbox.OutboxRelay;
+import com.shopeasy.ecommerce.repository.OutboxEventRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=true",
+        "outbox.relay.interval-ms=3600000",
+        "outbox.relay.batch-size=500"
+})
+@EmbeddedKafka(partitions = 3, topics = OrderEventsTopicProperties.TOPIC)
+class OutboxIntegrationTest {
+
+    @Autowired
+    private OrderEventOutbox orderEventOutbox;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void shouldPublishBacklogInBatches() {
+        int events = 5000;
+        enqueue(1, events);
+
+        try (Consumer<String, String> consumer = newConsumer("outbox-throughput")) {
+            int published = 0;
+            int sent;
+            while ((sent = outboxRelay.relayBatch()) > 0) {
+                published += sent;
+            }
+
+            assertEquals(events, published);
+            assertEquals(0, outboxEventRepository.countBySentAtIsNull());
+            assertEquals(events, keysOf(KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), events)).size());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldMeasureEnqueueAndRelayThroughput() {
+        int events = 20_000;
+        long begin = System.nanoTime();
+        enqueue(1_000_000, events);
+        double enqueueSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        begin = System.nanoTime();
+        int published = 0;
+        int sent;
+        while ((sent = outboxRelay.relayBatch()) > 0) {
+            published += sent;
+        }
+        double relaySeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        log.info("Outbox: {} eventos gravados a {}/s e publicados a {}/s",
+                events, Math.round(events / enqueueSeconds), Math.round(published / relaySeconds));
+        assertEquals(events, published);
+    }
+
+    @Test
+    void shouldRepublishBatchWhenRelayCrashesBeforeMarkingItSent() {
+        int events = 100;
+        enqueue(100_000, events);
+
+        try (Consumer<String, String> consumer = newConsumer("outbox-recovery")) {
+            assertEquals(events, outboxRelay.relayBatch());
+            // Volta ao estado de um relay que reservou e enviou o lote mas caiu antes de marcá-lo
+            jdbcTemplate.update("UPDATE outbox_events SET sent_at = NULL, claimed_until = ?",
+                    LocalDateTime.now().plusHours(1));
+            assertEquals(events, outboxEventRepository.countBySentAtIsNull());
+
+            // Enquanto a reserva vale, o lote não é pego de novo
+            assertEquals(0, outboxRelay.relayBatch());
+
+            jdbcTemplate.update("UPDATE outbox_events SET claimed_until = ?", LocalDateTime.now().minusSeconds(1));
+            assertEquals(events, outboxRelay.relayBatch());
+            assertEquals(0, outboxEventRepository.countBySentAtIsNull());
+
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), 2 * events);
+            assertEquals(2 * events, records.count());
+            assertEquals(events, keysOf(records).size());
+        }
+    }
+
+    @Test
+    void shouldDiscardEventWhenOrderTransactionRollsBack() {
+        tx.executeWithoutResult(status -> {
+            orderEventOutbox.enqueue(new OrderEvent(1L, 1L, BigDecimal.TEN, "NEW"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private void enqueue(long firstOrderId, int events) {
+        for (int from = 0; from < events; from += 500) {
+            int start = from;
+            tx.executeWithoutResult(status -> {
+                for (int i = start; i < Math.min(start + 500, events); i++) {
+                    orderEventOutbox.enqueue(new OrderEvent(firstOrderId + i, 1L, BigDecimal.TEN, "NEW"));
+                }
+            });
+        }
+    }
+
+    private Consumer<String, String> newConsumer(String group) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps(group, "false", embeddedKafka);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<String, String>(props).createConsumer();
+        // Começa do fim do tópico para não contar mensagens de outros testes
+        embeddedKafka.consumeFromEmbeddedTopics(consumer, true, OrderEventsTopicProperties.TOPIC);
+        return consumer;
+    }
+
+    private static Set<String> keysOf(ConsumerRecords<String, String> records) {
+        return StreamSupport.stream(records.spliterator(), false)
+                .map(ConsumerRecord::key)
+                .collect(Collectors.toSet());
+    }
+}
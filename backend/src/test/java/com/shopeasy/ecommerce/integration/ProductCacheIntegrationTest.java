@@ -0,0 +1,179 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.cache.ProductCache;
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.mapper.ProductMapper;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.service.InventoryService;
+import com.shopeasy.ecommerce.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class ProductCacheIntegrationTest {
+
+    private static final int PRODUCTS = 500;
+    private static final int RATE_PER_SECOND = 5_000;
+    private static final int SECONDS = 4;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        productCache.clear();
+    }
+
+    @Test
+    void shouldCollapseConcurrentMissesIntoOneLoad() throws Exception {
+        Long id = newProduct("Produto disputado").getId();
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        SqlStatementCounter.reset();
+        for (int i = 0; i < threads; i++) {
+            pool.submit(() -> {
+                start.await();
+                productService.findById(id);
+                done.countDown();
+                return null;
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        // Produto e saldo do ledger, uma única vez
+        assertEquals(2, SqlStatementCounter.selectCount());
+    }
+
+    @Test
+    void shouldServeFreshDataAfterUpdateAndStockChange() {
+        ProductResponse created = newProduct("Nome antigo");
+        Long id = created.getId();
+        assertEquals("Nome antigo", productService.findById(id).getName());
+
+        productService.update(id, ProductRequest.builder()
+                .name("Nome novo")
+                .price(BigDecimal.ONE)
+                .stock(7)
+                .build());
+        ProductResponse updated = productService.findById(id);
+        assertEquals("Nome novo", updated.getName());
+        assertEquals(7, updated.getStock());
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(s -> inventoryService.reserve(Map.of(id, 2), null));
+        assertEquals(5, productService.findById(id).getStock());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCutTailLatencyAtFiveThousandRequestsPerSecond() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add(newProduct("Produto carga " + i).getId());
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+
+        // Mesmo trabalho que o cache faz numa falta
+        double databaseP99 = p99(n -> {
+            Long id = ids.get((int) (n % PRODUCTS));
+            return tx.execute(s -> ProductMapper.toResponseDTO(
+                    productRepository.findById(id).orElseThrow(), inventoryService.available(id)));
+        });
+        double cachedP99 = p99(n -> productService.findById(ids.get((int) (n % PRODUCTS))));
+
+        double hits = meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count();
+        double misses = meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "miss")
+                .functionCounter().count();
+        log.info("GET produto a {} req/s - p99 banco: {} ms, p99 cache: {} ms (acertos {}, faltas {})",
+                RATE_PER_SECOND, databaseP99, cachedP99, (long) hits, (long) misses);
+
+        assertTrue(misses >= PRODUCTS);
+        assertTrue(hits > misses);
+    }
+
+    /** Carga em taxa fixa; a latência conta a partir do horário agendado, não do início real. */
+    private static double p99(LongFunction<ProductResponse> request) throws Exception {
+        int total = RATE_PER_SECOND * SECONDS;
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE_PER_SECOND;
+        long[] latencies = new long[total];
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(64);
+        CountDownLatch done = new CountDownLatch(total);
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long scheduled = begin + i * interval;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int n = i;
+            workers.execute(() -> {
+                try {
+                    request.apply(n);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+                latencies[n] = System.nanoTime() - scheduled;
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        workers.shutdown();
+
+        assertEquals(0, failures.get());
+        Arrays.sort(latencies);
+        return latencies[(int) (total * 0.99)] / 1_000_000.0;
+    }
+
+    private ProductResponse newProduct(String name) {
+        return productService.create(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+    }
+}
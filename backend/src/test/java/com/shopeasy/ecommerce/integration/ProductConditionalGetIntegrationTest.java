@@ -0,0 +1,148 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.cache.ProductCache;
+import com.shopeasy.ecommerce.cache.ProductListCache;
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.security.JwtUtil;
+import com.shopeasy.ecommerce.service.InventoryService;
+import com.shopeasy.ecommerce.service.ProductService;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private ProductListCache productListCache;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void shouldAnswerNotModifiedAndChangeTagOnWrite() throws Exception {
+        ProductResponse product = create("Produto etag");
+        String url = "/api/products/" + product.getId();
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        productService.update(product.getId(), ProductRequest.builder()
+                .name("Produto etag alterado")
+                .price(BigDecimal.ONE)
+                .stock(3)
+                .build());
+
+        String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void shouldKeepAuthenticatedResponsesOutOfSharedCaches() throws Exception {
+        String token = jwtUtil.generateToken(User.withUsername("cliente").password("").roles("USER").build());
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    void shouldRevalidateFromCacheWithEmptyBodyAndNoQueries() throws Exception {
+        ProductResponse product = create("Produto revalidado");
+        String url = "/api/products/" + product.getId();
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+        assertEquals(0, SqlStatementCounter.selectCount());
+    }
+
+    @Test
+    void shouldRevalidateListWithNoQueriesUntilStockMoves() throws Exception {
+        ProductResponse product = create("Produto listado revalidado");
+        String url = "/api/products?name=listado&size=20";
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+        assertEquals(0, SqlStatementCounter.selectCount());
+
+        // Um movimento de estoque não mexe no catálogo, mas muda a representação da página
+        inventoryService.restock(product.getId(), 5);
+
+        String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void shouldKeepSameTagWhenCachesReload() throws Exception {
+        ProductResponse product = create("Produto recarregado");
+        String url = "/api/products/" + product.getId();
+        String listUrl = "/api/products?name=recarregado&size=20";
+        String etag = mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String listEtag = mockMvc.perform(get(listUrl)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // O ETag vem do conteúdo, não da carga: recarregar do banco não invalida o cache do cliente
+        productCache.clear();
+        productListCache.clear();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(listUrl).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    private ProductResponse create(String name) {
+        return productService.create(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+    }
+}
@@ -0,0 +1,159 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductFacetsResponse;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.search.ProductFacetIndex;
+import com.shopeasy.ecommerce.search.ProductNameIndex;
+import com.shopeasy.ecommerce.service.ProductService;
+import com.shopeasy.ecommerce.spec.ProductSpecifications;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductFacetsIntegrationTest {
+
+    private static final int SMALL_CATALOG = 5_000;
+    private static final int LARGE_CATALOG = 200_000;
+    private static final List<String> CATEGORIES = List.of("fac-0", "fac-1", "fac-2", "fac-3", "fac-4");
+    private static final String NAME = "facetado azul";
+    private static final BigDecimal MIN = new BigDecimal("100");
+    private static final BigDecimal MAX = new BigDecimal("500");
+    private static final String NAME_FILTER = "LOWER(name) LIKE '%" + NAME + "%'";
+    private static final String PRICE_FILTER = "price BETWEEN 100 AND 500";
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+    @Autowired
+    private ProductNameIndex productNameIndex;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMatchDatabaseCounts() {
+        insert(SMALL_CATALOG);
+        try {
+            ProductFacetsResponse facets = productService.facets(NAME, "fac-2", MIN, MAX, 10);
+
+            assertEquals(count(NAME_FILTER + " AND category = 'fac-2' AND " + PRICE_FILTER), facets.getTotal());
+            assertEquals(facets.getTotal(),
+                    productService.list(NAME, "fac-2", MIN, MAX, 0, 10).getTotalElements());
+
+            // Categorias ignoram o filtro de categoria
+            Map<String, Long> byCategory = new HashMap<>();
+            jdbcTemplate.query("SELECT category, COUNT(*) FROM products WHERE " + NAME_FILTER + " AND " + PRICE_FILTER
+                    + " GROUP BY category", rs -> {
+                byCategory.put(rs.getString(1), rs.getLong(2));
+            });
+            assertEquals(byCategory, facets.getCategories().stream().collect(Collectors.toMap(
+                    ProductFacetsResponse.CategoryCount::getCategory, ProductFacetsResponse.CategoryCount::getCount)));
+
+            // Faixas de preço ignoram o filtro de preço
+            assertEquals(10, facets.getPriceHistogram().size());
+            for (ProductFacetsResponse.PriceBucket bucket : facets.getPriceHistogram()) {
+                assertEquals(count(NAME_FILTER + " AND category = 'fac-2' AND price >= " + bucket.getFrom()
+                        + " AND price < " + bucket.getTo()), bucket.getCount());
+            }
+            assertEquals(count(NAME_FILTER + " AND category = 'fac-2'"),
+                    facets.getPriceHistogram().stream().mapToLong(ProductFacetsResponse.PriceBucket::getCount).sum());
+        } finally {
+            cleanUp();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldBeatOneQueryPerFacetInOnePass() {
+        insert(LARGE_CATALOG);
+        try {
+            long begin = System.nanoTime();
+            ProductFacetsResponse facets = productService.facets(NAME, "fac-2", MIN, MAX, 10);
+            double facetMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+            // O mesmo com consultas por Specification: total, uma por categoria e uma por faixa
+            List<Long> candidates = productNameIndex.candidates(NAME);
+            begin = System.nanoTime();
+            long total = productRepository.count(ProductSpecifications.filterBy(NAME, "fac-2", MIN, MAX, candidates));
+            for (String category : CATEGORIES) {
+                productRepository.count(ProductSpecifications.filterBy(NAME, category, MIN, MAX, candidates));
+            }
+            for (ProductFacetsResponse.PriceBucket bucket : facets.getPriceHistogram()) {
+                productRepository.count(ProductSpecifications.filterBy(NAME, "fac-2", bucket.getFrom(),
+                        bucket.getTo().subtract(new BigDecimal("0.01")), candidates));
+            }
+            double queryMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+            log.info("Facetas em {} produtos - visão colunar: {} ms, {} consultas ao banco: {} ms",
+                    LARGE_CATALOG, facetMillis, 1 + CATEGORIES.size() + facets.getPriceHistogram().size(), queryMillis);
+            assertEquals(total, facets.getTotal());
+            assertTrue(facetMillis < queryMillis);
+        } finally {
+            cleanUp();
+        }
+    }
+
+    @Test
+    void shouldRefreshOnWrites() {
+        String name = "Faceta única " + System.nanoTime();
+        ProductResponse created = productService.create(ProductRequest.builder()
+                .name(name)
+                .price(new BigDecimal("42.00"))
+                .stock(10)
+                .build());
+
+        ProductFacetsResponse facets = productService.facets(name, null, null, null, 5);
+        assertEquals(1, facets.getTotal());
+        // Sem categoria: entra no total e no histograma, não na contagem por categoria
+        assertEquals(List.of(), facets.getCategories());
+        assertEquals(1, facets.getPriceHistogram().stream().mapToLong(ProductFacetsResponse.PriceBucket::getCount).sum());
+        assertEquals(0, productService.facets(name, null, new BigDecimal("4000"), null, 5).getTotal());
+
+        productService.update(created.getId(), ProductRequest.builder()
+                .name(name)
+                .price(new BigDecimal("4200.00"))
+                .stock(10)
+                .build());
+        assertEquals(1, productService.facets(name, null, new BigDecimal("4000"), null, 5).getTotal());
+
+        productService.delete(created.getId());
+        assertEquals(0, productService.facets(name, null, null, null, 5).getTotal());
+    }
+
+    private void insert(int catalog) {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT 'Facetado ' || CASE WHEN MOD(X, 2) = 0 THEN 'azul' ELSE 'verde' END || ' ' || X, "
+                + "'Sintético', MOD(X, 1000) + 1, 5, 'fac-' || MOD(X, 5), CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, " + catalog + ")");
+        productNameIndex.sync();
+        productFacetIndex.sync();
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("DELETE FROM products WHERE category LIKE 'fac-%'");
+        productNameIndex.rebuild();
+        productFacetIndex.rebuild();
+    }
+
+    private long count(String where) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE " + where, Long.class);
+    }
+}
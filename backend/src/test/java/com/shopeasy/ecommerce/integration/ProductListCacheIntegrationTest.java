@@ -0,0 +1,143 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.cache.ProductListCache;
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.search.ProductNameIndex;
+import com.shopeasy.ecommerce.service.InventoryService;
+import com.shopeasy.ecommerce.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class ProductListCacheIntegrationTest {
+
+    private static final int PRODUCTS = 20_000;
+    private static final int READS = 2_000;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductListCache productListCache;
+    @Autowired
+    private ProductNameIndex productNameIndex;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldServeRepeatedPagesWithOnlyTheStockQuery() {
+        seedCatalog();
+        try {
+            productListCache.clear();
+
+            SqlStatementCounter.reset();
+            Page<ProductResponse> first = productService.list("listagem", "cat-3", null, new BigDecimal("300"), 2, 20);
+            int missSelects = SqlStatementCounter.selectCount();
+
+            SqlStatementCounter.reset();
+            for (int i = 0; i < READS; i++) {
+                // Variações equivalentes dos filtros caem na mesma entrada
+                productService.list(i % 2 == 0 ? "LISTAGEM" : "listagem", "cat-3", null, new BigDecimal("300.00"), 2, 20);
+            }
+            int hitSelects = SqlStatementCounter.selectCount();
+
+            assertEquals(20, first.getContent().size());
+            // Página, COUNT e estoque na falta; só o estoque no acerto
+            assertEquals(3, missSelects);
+            assertEquals(READS, hitSelects);
+        } finally {
+            dropCatalog();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareMissWithHitLatency() {
+        seedCatalog();
+        try {
+            productListCache.clear();
+
+            long begin = System.nanoTime();
+            productService.list("listagem", "cat-3", null, new BigDecimal("300"), 2, 20);
+            double missMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < READS; i++) {
+                productService.list("listagem", "cat-3", null, new BigDecimal("300"), 2, 20);
+            }
+            double hitMillis = (System.nanoTime() - begin) / 1_000_000.0 / READS;
+
+            log.info("Listagem com {} produtos - falta: {} ms, acerto: {} ms, taxa de acerto {}",
+                    PRODUCTS, missMillis, hitMillis, meterRegistry.get("product_list_cache_hit_ratio").gauge().value());
+        } finally {
+            dropCatalog();
+        }
+    }
+
+    @Test
+    void shouldSeeProductWritesThroughVersionAndStockWithoutIt() {
+        String category = "versao-" + System.nanoTime();
+        ProductResponse created = create("Primeiro", category);
+        assertEquals(1, productService.list(null, category, null, null, 0, 10).getTotalElements());
+
+        long version = productListCache.version();
+        create("Segundo", category);
+        assertEquals(version + 1, productListCache.version());
+        assertEquals(2, productService.list(null, category, null, null, 0, 10).getTotalElements());
+
+        // Reserva não muda o catálogo, mas o estoque listado acompanha o ledger
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(s -> inventoryService.reserve(Map.of(created.getId(), 4), null));
+        ProductResponse listed = productService.list(null, category, null, null, 0, 10).getContent().stream()
+                .filter(p -> p.getId().equals(created.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(version + 1, productListCache.version());
+        assertEquals(6, listed.getStock());
+        assertTrue(meterRegistry.get("product_list_cache_hit_ratio").gauge().value() > 0);
+    }
+
+    private void seedCatalog() {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT 'Listagem ' || X, 'Descrição ' || X, MOD(X, 500) + 1, 10, 'cat-' || MOD(X, 20), CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, " + PRODUCTS + ")");
+        productNameIndex.sync();
+    }
+
+    private void dropCatalog() {
+        jdbcTemplate.update("DELETE FROM products WHERE name LIKE 'Listagem %'");
+        productListCache.clear();
+    }
+
+    private ProductResponse create(String name, String category) {
+        ProductResponse created = productService.create(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+        jdbcTemplate.update("UPDATE products SET category = ? WHERE id = ?", category, created.getId());
+        return created;
+    }
+}
@@ -0,0 +1,172 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.search.ProductNameIndex;
+import com.shopeasy.ecommerce.service.ProductService;
+import com.shopeasy.ecommerce.spec.ProductSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductNameIndexIntegrationTest {
+
+    private static final int CATALOG = 1_000_000;
+    private static final int QUERIES = 20;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductNameIndex productNameIndex;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldFollowCreateRenameAndDelete() {
+        String category = "trigrama-" + System.nanoTime();
+        ProductResponse created = create("Cafeteira Elétrica", category);
+
+        assertTrue(productNameIndex.candidates("CAFETEIRA").contains(created.getId()));
+        // Sem acento no índice: a busca acentuada ou não chega ao mesmo candidato
+        assertTrue(productNameIndex.candidates("eletrica").contains(created.getId()));
+        assertEquals(1, productService.list("feteira", category, null, null, 0, 10).getTotalElements());
+
+        productService.update(created.getId(), ProductRequest.builder()
+                .name("Chaleira Inox")
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+        assertFalse(productNameIndex.candidates("cafeteira").contains(created.getId()));
+        assertTrue(productNameIndex.candidates("chaleira").contains(created.getId()));
+        assertEquals(0, productService.list("cafeteira", category, null, null, 0, 10).getTotalElements());
+        assertEquals(1, productService.list("leira in", category, null, null, 0, 10).getTotalElements());
+
+        productService.delete(created.getId());
+        assertFalse(productNameIndex.candidates("chaleira").contains(created.getId()));
+
+        // Curto demais para trigramas: fica com o LIKE
+        assertNull(productNameIndex.candidates("ch"));
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsAsLetters() {
+        String category = "curinga-" + System.nanoTime();
+        ProductResponse percent = create("Cupom 50% off", category);
+        create("Cupom 500 off", category);
+        ProductResponse underscore = create("Cabo usb_c", category);
+        create("Cabo usbxc", category);
+        try {
+            // Pelo índice e pela varredura, sem % e _ virarem curinga
+            assertEquals(List.of(percent.getId()), listedIds("50% o", category));
+            assertEquals(1, productRepository.count(ProductSpecifications.filterBy("50% o", category, null, null, null)));
+            assertEquals(List.of(underscore.getId()), listedIds("b_c", category));
+            assertEquals(1, productRepository.count(ProductSpecifications.filterBy("b_c", category, null, null, null)));
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category = ?", category);
+            productNameIndex.rebuild();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldBeatTheLikeScanOnMillionRowCatalog() {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT 'Trigrama ' || X || CASE WHEN MOD(X, 2) = 0 THEN ' azul' ELSE ' verde' END, 'Sintético', MOD(X, 1000) + 1, 5, "
+                + "'tri-' || MOD(X, 20), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + CATALOG + ")");
+        try {
+            long begin = System.nanoTime();
+            productNameIndex.rebuild();
+            double rebuildMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+            Random random = new Random(42);
+            List<String> queries = new ArrayList<>();
+            for (int i = 0; i < QUERIES; i++) {
+                queries.add("trigrama " + (10_000 + random.nextInt(90_000)));
+            }
+            Pageable pageable = PageRequest.of(0, 20, Sort.by("name"));
+
+            List<List<Long>> scanned = new ArrayList<>();
+            double scanMillis = measure(queries, q -> {
+                List<Long> ids = ids(productRepository.findAll(
+                        ProductSpecifications.filterBy(q, "tri-3", null, new BigDecimal("900"), null), pageable)
+                        .getContent());
+                scanned.add(ids);
+                return ids;
+            });
+            List<List<Long>> indexed = new ArrayList<>();
+            double indexedMillis = measure(queries, q -> {
+                List<Long> ids = ids(productRepository.findAll(
+                        ProductSpecifications.filterBy(q, "tri-3", null, new BigDecimal("900"),
+                                productNameIndex.candidates(q)), pageable)
+                        .getContent());
+                indexed.add(ids);
+                return ids;
+            });
+
+            log.info("Busca por nome em {} produtos - LIKE: {} ms/consulta, trigramas: {} ms/consulta "
+                            + "(carga do índice {} ms, {} trigramas, {} MB)",
+                    CATALOG, scanMillis, indexedMillis, rebuildMillis,
+                    (long) meterRegistry.get("products_name_index_trigrams").gauge().value(),
+                    (long) meterRegistry.get("products_name_index_bytes").gauge().value() / (1024 * 1024));
+
+            // Mesmas linhas pelos dois caminhos
+            assertEquals(scanned, indexed);
+            assertTrue(indexed.stream().anyMatch(ids -> !ids.isEmpty()));
+            assertTrue(indexedMillis < scanMillis);
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category LIKE 'tri-%'");
+            productNameIndex.rebuild();
+        }
+    }
+
+    private static double measure(List<String> queries, Function<String, List<Long>> search) {
+        long begin = System.nanoTime();
+        queries.forEach(search::apply);
+        return (System.nanoTime() - begin) / 1_000_000.0 / queries.size();
+    }
+
+    private List<Long> listedIds(String name, String category) {
+        return productService.list(name, category, null, null, 0, 10).getContent().stream()
+                .map(ProductResponse::getId).toList();
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private ProductResponse create(String name, String category) {
+        ProductResponse created = productService.create(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+        jdbcTemplate.update("UPDATE products SET category = ? WHERE id = ?", category, created.getId());
+        return created;
+    }
+}
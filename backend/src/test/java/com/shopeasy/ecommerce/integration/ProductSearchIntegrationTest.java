@@ -0,0 +1,164 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.search.ProductSearchIndex;
+import com.shopeasy.ecommerce.service.ProductService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductSearchIntegrationTest {
+
+    private static final int SMALL_CATALOG = 20_000;
+    private static final int LARGE_CATALOG = 200_000;
+    private static final String[] WORDS = {"chaleira", "torradeira", "liquidificador", "batedeira", "sanduicheira",
+            "panela", "frigideira", "espremedor", "processador", "grill"};
+    private static final int QUERIES = 200;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldTolerateTyposAndAccents() {
+        ProductResponse created = create("Cafeteira Elétrica Xilomax", "Jarra de vidro, 30 xícaras");
+
+        // Letras trocadas, sem acento e fora de caixa
+        assertTrue(ids(productService.search("cafetiera xilomax", 20)).contains(created.getId()));
+        assertTrue(ids(productService.search("ELETRICA xilomax", 20)).contains(created.getId()));
+        assertTrue(ids(productService.search("xicaras xilomax", 20)).contains(created.getId()));
+
+        productService.delete(created.getId());
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        ProductResponse inDescription = create("Suporte de Parede", "Serve para o moedor Quorvex e similares");
+        ProductResponse inName = create("Moedor Quorvex", "Moagem regulável");
+
+        List<Long> ids = ids(productService.search("quorvex", 20));
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids);
+
+        productService.delete(inDescription.getId());
+        productService.delete(inName.getId());
+    }
+
+    @Test
+    void shouldFollowUpdatesDeletesAndRebuild() {
+        ProductResponse created = create("Gaita Vendrelha", "Harmônica diatônica");
+        assertTrue(ids(productService.search("vendrelha", 20)).contains(created.getId()));
+
+        productService.update(created.getId(), ProductRequest.builder()
+                .name("Flauta Vendrelha")
+                .description("Flauta doce")
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+        assertTrue(ids(productService.search("flauta vendrelha", 20)).contains(created.getId()));
+        assertFalse(ids(productService.search("harmonica", 20)).contains(created.getId()));
+
+        productService.delete(created.getId());
+        assertFalse(ids(productService.search("vendrelha", 20)).contains(created.getId()));
+
+        // Escritas direto no banco só aparecem na reconstrução
+        ProductResponse removed = create("Ocarina Vendrelha", "Cerâmica");
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", removed.getId());
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "VALUES ('Kalimba Vendrelha', 'Dezessete teclas', 10, 5, 'busca', CURRENT_TIMESTAMP)");
+        try {
+            assertTrue(productService.rebuildSearchIndex() > 0);
+            List<ProductResponse> found = productService.search("vendrelha", 20);
+            assertEquals(List.of("Kalimba Vendrelha"), found.stream().map(ProductResponse::getName).toList());
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category = 'busca'");
+            productSearchIndex.rebuild();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldKeepLatencyWhenCatalogGrows() {
+        try {
+            insert(1, SMALL_CATALOG);
+            productSearchIndex.rebuild();
+            List<String> queries = queries(SMALL_CATALOG);
+            measure(queries);
+            double smallMillis = measure(queries);
+
+            insert(SMALL_CATALOG + 1, LARGE_CATALOG);
+            productSearchIndex.rebuild();
+            queries = queries(LARGE_CATALOG);
+            measure(queries);
+            double largeMillis = measure(queries);
+
+            log.info("Busca textual - {} produtos: {} ms/consulta, {} produtos: {} ms/consulta",
+                    SMALL_CATALOG, smallMillis, LARGE_CATALOG, largeMillis);
+
+            assertFalse(productSearchIndex.search(queries.get(0), 20).isEmpty());
+            // Dez vezes mais produtos não pode custar perto de dez vezes mais
+            assertTrue(largeMillis < smallMillis * 5);
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category = 'busca-carga'");
+            productSearchIndex.rebuild();
+        }
+    }
+
+    private void insert(int from, int to) {
+        StringBuilder word = new StringBuilder("CASE MOD(X, ").append(WORDS.length).append(")");
+        for (int i = 0; i < WORDS.length; i++) {
+            word.append(" WHEN ").append(i).append(" THEN '").append(WORDS[i]).append("'");
+        }
+        word.append(" END");
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT " + word + " || ' modelo ' || X, 'Linha doméstica ' || " + word + ", MOD(X, 500) + 1, 5, "
+                + "'busca-carga', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+    }
+
+    /** Palavra do vocabulário, com uma letra a menos, e o número do modelo. */
+    private static List<String> queries(int catalog) {
+        Random random = new Random(42);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            queries.add(word.substring(0, word.length() - 1) + " " + (1 + random.nextInt(catalog)));
+        }
+        return queries;
+    }
+
+    private double measure(List<String> queries) {
+        long begin = System.nanoTime();
+        queries.forEach(q -> productSearchIndex.search(q, 20));
+        return (System.nanoTime() - begin) / 1_000_000.0 / queries.size();
+    }
+
+    private static List<Long> ids(List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getId).toList();
+    }
+
+    private ProductResponse create(String name, String description) {
+        return productService.create(ProductRequest.builder()
+                .name(name)
+                .description(description)
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+    }
+}
@@ -0,0 +1,136 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.response.CursorPageResponse;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.exception.BusinessException;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.service.ProductService;
+import com.shopeasy.ecommerce.util.SeekCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class ProductSeekIntegrationTest {
+
+    private static final int CATALOG = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGES = {0, 100, 10_000};
+    private static final int REPETITIONS = 20;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldWalkForwardAndBackWithoutGapsOnDuplicateNames() {
+        String category = "seek-" + System.nanoTime();
+        // Cinco nomes repetidos sete vezes: o desempate pelo id precisa ser estável
+        jdbcTemplate.update("INSERT INTO products (name, price, stock, category, created_at) "
+                + "SELECT 'Repetido ' || MOD(X, 5), 10, 1, ?, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 35)", category);
+        try {
+            List<Long> expected = jdbcTemplate.queryForList(
+                    "SELECT id FROM products WHERE category = ? ORDER BY name, id", Long.class, category);
+
+            List<CursorPageResponse<ProductResponse>> pages = new ArrayList<>();
+            String cursor = null;
+            do {
+                SqlStatementCounter.reset();
+                CursorPageResponse<ProductResponse> page = productService.seek(null, category, null, null, cursor, 8);
+                // Página e estoque, sem COUNT
+                assertEquals(2, SqlStatementCounter.selectCount());
+                pages.add(page);
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(5, pages.size());
+            assertEquals(expected, pages.stream().flatMap(p -> ids(p).stream()).toList());
+            assertNull(pages.get(0).getPrevCursor());
+
+            // De volta da última página até a primeira, pelos cursores anteriores
+            List<Long> backward = new ArrayList<>(ids(pages.get(4)));
+            CursorPageResponse<ProductResponse> page = pages.get(4);
+            for (int i = 3; i >= 0; i--) {
+                page = productService.seek(null, category, null, null, page.getPrevCursor(), 8);
+                assertEquals(ids(pages.get(i)), ids(page));
+                assertEquals(pages.get(i).getNextCursor(), page.getNextCursor());
+                backward.addAll(0, ids(page));
+            }
+            assertNull(page.getPrevCursor());
+            assertEquals(expected, backward);
+
+            assertThrows(BusinessException.class, () -> productService.seek(null, category, null, null, "lixo", 8));
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category = ?", category);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldKeepDeepPagesFlatOnMillionRowCatalog() {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT 'Catálogo ' || LPAD(X, 7, '0'), 'Sintético', MOD(X, 1000) + 1, 5, 'sintetico', CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, " + CATALOG + ")");
+        try {
+            StringBuilder report = new StringBuilder();
+            double deepOffset = 0;
+            double deepSeek = 0;
+            for (int page : PAGES) {
+                double offset = measure(() -> productRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("name"))));
+                String cursor = cursorAt(page * PAGE_SIZE);
+                double seek = measure(() -> productService.seek(null, null, null, null, cursor, PAGE_SIZE));
+                report.append(String.format("página %d: OFFSET+COUNT %.2f ms, cursor %.2f ms; ", page, offset, seek));
+                deepOffset = offset;
+                deepSeek = seek;
+            }
+            log.info("Catálogo de {} produtos - {}", CATALOG, report);
+
+            assertTrue(deepSeek < deepOffset);
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category = 'sintetico'");
+        }
+    }
+
+    // Posição da última linha antes do deslocamento, como se o cliente viesse navegando
+    private String cursorAt(int offset) {
+        if (offset == 0) {
+            return null;
+        }
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT name, id FROM products ORDER BY name, id LIMIT 1 OFFSET ?", offset - 1);
+        return SeekCursor.after((String) row.get("NAME"), ((Number) row.get("ID")).longValue()).encode();
+    }
+
+    private static double measure(Supplier<?> read) {
+        read.get();
+        long begin = System.nanoTime();
+        for (int i = 0; i < REPETITIONS; i++) {
+            read.get();
+        }
+        return (System.nanoTime() - begin) / 1_000_000.0 / REPETITIONS;
+    }
+
+    private static List<Long> ids(CursorPageResponse<ProductResponse> page) {
+        return page.getContent().stream().map(ProductResponse::getId).toList();
+    }
+}
@@ -0,0 +1,176 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.request.ProductRequest;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.ProductSuggestionResponse;
+import com.shopeasy.ecommerce.model.Order;
+import com.shopeasy.ecommerce.model.OrderItem;
+import com.shopeasy.ecommerce.model.OrderStatus;
+import com.shopeasy.ecommerce.model.Role;
+import com.shopeasy.ecommerce.model.User;
+import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.search.ProductSuggestIndex;
+import com.shopeasy.ecommerce.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductSuggestIntegrationTest {
+
+    private static final int CATALOG = 500_000;
+    private static final String[] WORDS = {"chaleira", "torradeira", "liquidificador", "batedeira", "sanduicheira",
+            "panela", "frigideira", "espremedor", "processador", "grill"};
+    private static final int QUERIES = 10_000;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductSuggestIndex productSuggestIndex;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRankByUnitsSoldAndFollowProductChanges() {
+        String tag = "Zumbidor" + System.nanoTime();
+        ProductResponse alfa = create(tag + " Alfa");
+        ProductResponse beta = create(tag + " Beta");
+        ProductResponse gama = create(tag + " Gama");
+
+        // Pedido cancelado não conta como venda
+        List<Order> orders = List.of(
+                order(OrderStatus.PAID, beta, 5),
+                order(OrderStatus.DELIVERED, gama, 2),
+                order(OrderStatus.CANCELED, alfa, 50));
+        try {
+            productSuggestIndex.rebuild();
+            assertEquals(List.of(tag + " Beta", tag + " Gama", tag + " Alfa"), names(productService.suggest(tag, 10)));
+            assertEquals(List.of(tag + " Beta"), names(productService.suggest(tag, 1)));
+            // Sem caixa e sem acentos
+            assertEquals(List.of(tag + " Beta"), names(productService.suggest(tag.toUpperCase() + " bé", 10)));
+        } finally {
+            orderRepository.deleteAll(orders);
+        }
+
+        // Renomear mantém a popularidade até a próxima reconstrução
+        productService.update(gama.getId(), ProductRequest.builder()
+                .name(tag + " Ômega")
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+        assertEquals(List.of(tag + " Beta", tag + " Ômega", tag + " Alfa"), names(productService.suggest(tag, 10)));
+        assertEquals(List.of(), productService.suggest(tag + " ga", 10));
+
+        productService.delete(alfa.getId());
+        productService.delete(beta.getId());
+        assertEquals(List.of(tag + " Ômega"), names(productService.suggest(tag, 10)));
+
+        ProductResponse delta = create(tag + " Delta");
+        assertEquals(List.of(tag + " Ômega", tag + " Delta"), names(productService.suggest(tag, 10)));
+
+        productService.delete(gama.getId());
+        productService.delete(delta.getId());
+        assertEquals(List.of(), productService.suggest(tag, 10));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldSuggestInMicroseconds() {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT " + word() + " || ' modelo ' || X, 'Sintético', MOD(X, 500) + 1, 5, 'sug-carga', "
+                + "CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + CATALOG + ")");
+        try {
+            long begin = System.nanoTime();
+            productSuggestIndex.rebuild();
+            double rebuildMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+            // Do prefixo curto, com muitos produtos abaixo, ao quase completo
+            Random random = new Random(42);
+            List<String> prefixes = new ArrayList<>();
+            for (int i = 0; i < QUERIES; i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                String name = word + " modelo " + (1 + random.nextInt(CATALOG));
+                prefixes.add(name.substring(0, 3 + random.nextInt(name.length() - 3)));
+            }
+            prefixes.forEach(p -> productService.suggest(p, 10));
+
+            begin = System.nanoTime();
+            long found = 0;
+            for (String prefix : prefixes) {
+                found += productService.suggest(prefix, 10).size();
+            }
+            double micros = (System.nanoTime() - begin) / 1_000.0 / QUERIES;
+
+            log.info("Autocompletar em {} produtos: {} µs/consulta (carga {} ms, {} KB)",
+                    CATALOG, micros, rebuildMillis,
+                    (long) meterRegistry.get("products_suggest_bytes").gauge().value() / 1024);
+
+            assertTrue(found > 0);
+            assertTrue(micros < 1_000);
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE category = 'sug-carga'");
+            productSuggestIndex.rebuild();
+        }
+    }
+
+    private static String word() {
+        StringBuilder word = new StringBuilder("CASE MOD(X, ").append(WORDS.length).append(")");
+        for (int i = 0; i < WORDS.length; i++) {
+            word.append(" WHEN ").append(i).append(" THEN '").append(WORDS[i]).append("'");
+        }
+        return word.append(" END").toString();
+    }
+
+    private Order order(OrderStatus status, ProductResponse product, int quantity) {
+        User user = userRepository.save(User.builder()
+                .username("sugestao-" + System.nanoTime())
+                .password("x")
+                .role(Role.USER)
+                .build());
+        Order order = Order.builder().user(user).status(status).items(new ArrayList<>()).build();
+        order.getItems().add(OrderItem.builder()
+                .order(order)
+                .product(productRepository.getReferenceById(product.getId()))
+                .productName(product.getName())
+                .quantity(quantity)
+                .unitPrice(product.getPrice())
+                .build());
+        order.calculateTotal();
+        return orderRepository.save(order);
+    }
+
+    private static List<String> names(List<ProductSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResponse::getName).toList();
+    }
+
+    private ProductResponse create(String name) {
+        return productService.create(ProductRequest.builder()
+                .name(name)
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .build());
+    }
+}
@@ -0,0 +1,136 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.exception.UnauthorizedException;
+import com.shopeasy.ecommerce.model.Role;
+import com.shopeasy.ecommerce.model.User;
+import com.shopeasy.ecommerce.repository.UsedRefreshTokenRepository;
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.security.CustomUserDetailsService;
+import com.shopeasy.ecommerce.security.RefreshTokenRevocations;
+import com.shopeasy.ecommerce.service.RefreshTokenService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+class RefreshTokenRevocationIntegrationTest {
+
+    private static final int REVOKED = 1_000_000;
+    private static final int CHECKS = 20_000;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private RefreshTokenRevocations revocations;
+    @Autowired
+    private UsedRefreshTokenRepository usedRefreshTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRotateAndRevokeFamilyWhenOldTokenIsReused() {
+        String first = refreshTokenService.issue(newUser());
+
+        String second = refreshTokenService.rotate(first).refreshToken();
+        assertNotEquals(first, second);
+
+        // Reapresentar o token já trocado derruba a família inteira
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(first));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(second));
+    }
+
+    @Test
+    void shouldRevokeEverySessionOnLogoutAll() {
+        UserDetails user = newUser();
+        String laptop = refreshTokenService.issue(user);
+        String phone = refreshTokenService.issue(user);
+
+        assertEquals(2, refreshTokenService.revokeAll(phone));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(laptop));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(phone));
+    }
+
+    @Test
+    void shouldFlagRevokedTokensAfterRebuild() {
+        jdbcTemplate.update("INSERT INTO used_refresh_tokens (id, family_id, used_at, expires_at) "
+                + "SELECT 'revogado-' || X, 'revogada-family', CURRENT_TIMESTAMP, DATEADD('DAY', 7, CURRENT_TIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, 100)");
+        try {
+            revocations.rebuild();
+            for (int i = 1; i <= 100; i++) {
+                assertTrue(revocations.isUsed("revogado-" + i));
+            }
+            assertFalse(revocations.isUsed(UUID.randomUUID().toString()));
+        } finally {
+            jdbcTemplate.update("DELETE FROM used_refresh_tokens WHERE family_id = 'revogada-family'");
+            revocations.rebuild();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldAnswerFreshTokensFromBloomFilterWithMillionRevoked() {
+        jdbcTemplate.update("INSERT INTO used_refresh_tokens (id, family_id, used_at, expires_at) "
+                + "SELECT 'bench-' || X, 'bench-family', CURRENT_TIMESTAMP, DATEADD('DAY', 7, CURRENT_TIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, " + REVOKED + ")");
+        try {
+            long begin = System.nanoTime();
+            revocations.rebuild();
+            double rebuildMillis = (System.nanoTime() - begin) / 1_000_000.0;
+
+            List<String> fresh = new ArrayList<>();
+            for (int i = 0; i < CHECKS; i++) {
+                fresh.add(UUID.randomUUID().toString());
+            }
+            fresh.forEach(usedRefreshTokenRepository::existsById);
+
+            begin = System.nanoTime();
+            long positives = fresh.stream().filter(revocations::isUsed).count();
+            double bloomNanos = (System.nanoTime() - begin) / (double) CHECKS;
+
+            begin = System.nanoTime();
+            fresh.forEach(usedRefreshTokenRepository::existsById);
+            double databaseNanos = (System.nanoTime() - begin) / (double) CHECKS;
+
+            log.info("Revogação com {} tokens usados - carga: {} ms, filtro: {} ns/consulta, banco: {} ns/consulta",
+                    REVOKED, Math.round(rebuildMillis), Math.round(bloomNanos), Math.round(databaseNanos));
+
+            assertEquals(0, positives);
+            assertTrue(revocations.isUsed("bench-" + REVOKED / 2));
+            assertFalse(revocations.isUsed(UUID.randomUUID().toString()));
+            assertTrue(bloomNanos < databaseNanos);
+        } finally {
+            jdbcTemplate.update("DELETE FROM used_refresh_tokens WHERE family_id = 'bench-family'");
+            revocations.rebuild();
+        }
+    }
+
+    private UserDetails newUser() {
+        User user = userRepository.save(User.builder()
+                .username("sessao-" + System.nanoTime())
+                .password("x")
+                .role(Role.USER)
+                .build());
+        return userDetailsService.loadUserByUsername(user.getUsername());
+    }
+}
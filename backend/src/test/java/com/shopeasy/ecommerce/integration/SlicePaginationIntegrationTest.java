@@ -0,0 +1,157 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.cache.ProductListCache;
+import com.shopeasy.ecommerce.dto.response.OrderResponse;
+import com.shopeasy.ecommerce.dto.response.ProductResponse;
+import com.shopeasy.ecommerce.dto.response.SliceResponse;
+import com.shopeasy.ecommerce.model.Order;
+import com.shopeasy.ecommerce.model.OrderStatus;
+import com.shopeasy.ecommerce.model.Role;
+import com.shopeasy.ecommerce.model.User;
+import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.search.ProductNameIndex;
+import com.shopeasy.ecommerce.service.OrderService;
+import com.shopeasy.ecommerce.service.ProductService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class SlicePaginationIntegrationTest {
+
+    private static final int PRODUCTS = 200_000;
+    private static final int CATEGORIES = 10;
+    private static final int PAGE_SIZE = 100;
+    private static final int ORDERS = 25;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductListCache productListCache;
+    @Autowired
+    private ProductNameIndex productNameIndex;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldListProductSlicesWithoutCountAndCompareWithPages() throws Exception {
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock, category, created_at) "
+                + "SELECT 'Fatia ' || X, 'Descrição ' || X, MOD(X, 500) + 1, 10, 'fatia-' || MOD(X, " + CATEGORIES + "), "
+                + "CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + PRODUCTS + ")");
+        productNameIndex.sync();
+        try {
+            int perCategory = PRODUCTS / CATEGORIES;
+            int lastPage = perCategory / PAGE_SIZE - 1;
+
+            // Sem cache, cada leitura paga a consulta inteira
+            Measurement pages = measure(() -> productService.list("fatia", "fatia-3", null, null, lastPage, PAGE_SIZE));
+            Measurement slices = measure(() -> productService.listSlice("fatia", "fatia-3", null, null, lastPage,
+                    PAGE_SIZE, false));
+
+            // Página, COUNT e estoque contra página e estoque
+            assertEquals(3, pages.selects());
+            assertEquals(2, slices.selects());
+            SliceResponse<ProductResponse> last = slices.slice();
+            assertEquals(PAGE_SIZE, last.getContent().size());
+            assertFalse(last.isHasNext());
+            assertNull(last.getApproximateTotal());
+            assertTrue(productService.listSlice("fatia", "fatia-3", null, null, lastPage - 1, PAGE_SIZE, false)
+                    .isHasNext());
+
+            Long total = awaitTotal(() -> productService.listSlice("fatia", "fatia-3", null, null, 0, PAGE_SIZE, true)
+                    .getApproximateTotal());
+            assertEquals(perCategory, total);
+        } finally {
+            jdbcTemplate.update("DELETE FROM products WHERE name LIKE 'Fatia %'");
+            productListCache.clear();
+        }
+    }
+
+    @Test
+    void shouldListOrderSlicesWithoutCount() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("fatia-" + System.nanoTime())
+                .password("x")
+                .role(Role.USER)
+                .build());
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.builder().user(user).status(OrderStatus.PAID).build();
+            order.calculateTotal();
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+        Pageable first = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+        SqlStatementCounter.reset();
+        SliceResponse<OrderResponse> firstSlice = orderService.findSliceByUser(user.getUsername(), first, false);
+        // Pedidos e itens, sem COUNT
+        assertEquals(2, SqlStatementCounter.selectCount());
+        assertEquals(10, firstSlice.getContent().size());
+        assertTrue(firstSlice.isHasNext());
+
+        SliceResponse<OrderResponse> lastSlice = orderService.findSliceByUser(user.getUsername(), first.withPage(2), false);
+        assertEquals(ORDERS % 10, lastSlice.getContent().size());
+        assertFalse(lastSlice.isHasNext());
+
+        SqlStatementCounter.reset();
+        SliceResponse<OrderResponse> byStatus = orderService.findSliceByStatus(OrderStatus.PAID, first, false);
+        assertEquals(2, SqlStatementCounter.selectCount());
+        assertEquals(10, byStatus.getContent().size());
+
+        Long total = awaitTotal(() -> orderService.findSliceByUser(user.getUsername(), first, true).getApproximateTotal());
+        assertEquals(ORDERS, total);
+        Page<OrderResponse> exact = orderService.findByUser(user.getUsername(), first);
+        assertEquals(exact.getTotalElements(), total);
+    }
+
+    /** O total é calculado em segundo plano; as primeiras leituras podem vir sem ele. */
+    private static Long awaitTotal(Supplier<Long> read) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        Long total = read.get();
+        while (total == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            total = read.get();
+        }
+        return total;
+    }
+
+    private Measurement measure(Supplier<Object> read) {
+        productListCache.clear();
+        read.get();
+        productListCache.clear();
+        SqlStatementCounter.reset();
+        Object result = read.get();
+        return new Measurement(SqlStatementCounter.selectCount(), result);
+    }
+
+    private record Measurement(int selects, Object result) {
+
+        @SuppressWarnings("unchecked")
+        SliceResponse<ProductResponse> slice() {
+            return (SliceResponse<ProductResponse>) result;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.shopeasy.ecommerce.integration;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os SELECTs emitidos pelo Hibernate (ignorando chamadas de sequence)
+ * para que os testes possam verificar o número de consultas por operação.
+ * <p>
+ * A contagem é da thread que chamou {@link #reset()} e das threads criadas por ela
+ * depois disso; os jobs agendados (syncs dos índices, relay, compactação) ficam de fora.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final InheritableThreadLocal<AtomicInteger> SELECTS = new InheritableThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger selects = SELECTS.get();
+        String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (selects != null && normalized.startsWith("select") && !normalized.contains("next value for")) {
+            selects.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        SELECTS.set(new AtomicInteger());
+    }
+
+    public static int selectCount() {
+        AtomicInteger selects = SELECTS.get();
+        return selects == null ? 0 : selects.get();
+    }
+}
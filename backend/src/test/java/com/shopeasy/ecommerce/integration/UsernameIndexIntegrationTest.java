@@ -0,0 +1,142 @@
+package com.shopeasy.ecommerce.integration;
+
+import com.shopeasy.ecommerce.dto.request.RegisterRequest;
+import com.shopeasy.ecommerce.exception.BusinessException;
+import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.security.UsernameIndex;
+import com.shopeasy.ecommerce.service.AuthService;
+import com.shopeasy.ecommerce.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.shopeasy.ecommerce.integration.SqlStatementCounter")
+class UsernameIndexIntegrationTest {
+
+    private static final int USERS = 200_000;
+    private static final int CHECKS = 20_000;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldSeeNewUsersImmediatelyAndRejectDuplicates() {
+        String username = "novo-" + System.nanoTime();
+        assertFalse(userService.existsByUsername(username));
+
+        authService.register(new RegisterRequest(username, "senha123", "USER"));
+
+        assertTrue(userService.existsByUsername(username));
+        assertThrows(BusinessException.class,
+                () -> authService.register(new RegisterRequest(username, "outra", "USER")));
+    }
+
+    @Test
+    void shouldSendCaseAndSpaceVariantsToTheDatabase() {
+        String username = "Caixa-Mista-" + System.nanoTime();
+        authService.register(new RegisterRequest(username, "senha123", "USER"));
+
+        // O filtro não decide sozinho: quem compara caixa e espaços é o banco
+        SqlStatementCounter.reset();
+        usernameIndex.exists("  " + username.toLowerCase() + " ");
+        usernameIndex.exists(username.toUpperCase());
+        assertEquals(2, SqlStatementCounter.selectCount());
+    }
+
+    @Test
+    void shouldPickUpUsersCreatedElsewhereOnSync() {
+        String username = "externo-" + System.nanoTime();
+        // Gravado direto no banco, como por outra instância
+        jdbcTemplate.update("INSERT INTO users (username, password, role) VALUES (?, 'x', 'USER')", username);
+        assertFalse(usernameIndex.exists(username));
+
+        usernameIndex.sync();
+
+        assertTrue(usernameIndex.exists(username));
+    }
+
+    @Test
+    void shouldAnswerUnknownUsernamesWithoutQueries() {
+        jdbcTemplate.update("INSERT INTO users (username, password, role) "
+                + "SELECT 'massa-' || X, 'x', 'USER' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        try {
+            usernameIndex.rebuild();
+
+            List<String> unknown = new ArrayList<>();
+            for (int i = 0; i < CHECKS; i++) {
+                unknown.add(UUID.randomUUID().toString().substring(0, 30));
+            }
+
+            SqlStatementCounter.reset();
+            long positives = unknown.stream().filter(usernameIndex::exists).count();
+            int filterSelects = SqlStatementCounter.selectCount();
+
+            // Só os falsos positivos do filtro chegam ao banco
+            assertEquals(0, positives);
+            assertTrue(filterSelects < CHECKS / 20);
+            assertTrue(usernameIndex.exists("massa-" + USERS / 2));
+        } finally {
+            jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'massa-%'");
+            usernameIndex.rebuild();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareFilterWithDatabaseLookups() {
+        jdbcTemplate.update("INSERT INTO users (username, password, role) "
+                + "SELECT 'massa-' || X, 'x', 'USER' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        try {
+            usernameIndex.rebuild();
+
+            List<String> unknown = new ArrayList<>();
+            for (int i = 0; i < CHECKS; i++) {
+                unknown.add(UUID.randomUUID().toString().substring(0, 30));
+            }
+            unknown.forEach(userRepository::existsByUsername);
+
+            long begin = System.nanoTime();
+            unknown.forEach(usernameIndex::exists);
+            double filterNanos = (System.nanoTime() - begin) / (double) CHECKS;
+
+            begin = System.nanoTime();
+            unknown.forEach(userRepository::existsByUsername);
+            double databaseNanos = (System.nanoTime() - begin) / (double) CHECKS;
+
+            log.info("Usernames com {} cadastrados - filtro: {} ns/consulta, banco: {} ns/consulta, "
+                            + "falso positivo esperado {}, {} KB",
+                    USERS, Math.round(filterNanos), Math.round(databaseNanos),
+                    meterRegistry.get("users_username_bloom_false_positive_rate").gauge().value(),
+                    (long) meterRegistry.get("users_username_bloom_bytes").gauge().value() / 1024);
+            assertTrue(filterNanos < databaseNanos);
+        } finally {
+            jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'massa-%'");
+            usernameIndex.rebuild();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.shopeasy.ecommerce.kafka.serialization;
+
+import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+class OrderEventSerializationTest {
+
+    private static final String TOPIC = "order-events";
+    private static final int ITERATIONS = 200_000;
+
+    private final OrderEventSerializer serializer = new OrderEventSerializer();
+    private final OrderEventDeserializer deserializer = new OrderEventDeserializer();
+
+    @Test
+    void shouldRoundTripEvent() {
+        OrderEvent event = new OrderEvent(123_456_789L, -42L, new BigDecimal("1999.90"), "PAGO ✓");
+
+        assertEquals(event, deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event)));
+    }
+
+    @Test
+    void shouldKeepMissingFieldsAsNull() {
+        OrderEvent event = new OrderEvent(1L, null, null, "NEW");
+
+        OrderEvent read = deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event));
+
+        assertEquals(1L, read.getOrderId());
+        assertNull(read.getUserId());
+        assertNull(read.getTotal());
+        assertEquals("NEW", read.getStatus());
+    }
+
+    @Test
+    void shouldIgnoreFieldsAddedByNewerSchemaVersion() {
+        OrderEvent event = new OrderEvent(7L, 8L, new BigDecimal("10.50"), "SHIPPED");
+        byte[] v1 = serializer.serialize(TOPIC, event);
+
+        // Simula uma versão 2 com um campo novo (bit 4) anexado no fim
+        byte[] v2 = Arrays.copyOf(v1, v1.length + 4);
+        v2[1] = 2;
+        v2[2] = (byte) (v1[2] | (1 << 4));
+        v2[v1.length] = 3;
+        v2[v1.length + 1] = 'B';
+        v2[v1.length + 2] = 'R';
+        v2[v1.length + 3] = 'L';
+
+        assertEquals(event, deserializer.deserialize(TOPIC, v2));
+    }
+
+    @Test
+    void shouldFallBackToJson() {
+        OrderEvent event = new OrderEvent(5L, 6L, BigDecimal.TEN, "NEW");
+        byte[] json = jsonSerializer().serialize(TOPIC, event);
+
+        assertEquals(event, deserializer.deserialize(TOPIC, json));
+    }
+
+    @Test
+    void shouldRejectUnknownOrTruncatedPayload() {
+        byte[] binary = serializer.serialize(TOPIC, new OrderEvent(5L, 6L, BigDecimal.TEN, "NEW"));
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, new byte[]{1, 2, 3}));
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC, Arrays.copyOf(binary, binary.length - 2)));
+        assertArrayEquals(binary, serializer.serialize(TOPIC, deserializer.deserialize(TOPIC, binary)));
+    }
+
+    @Test
+    void shouldBeLessThanHalfTheSizeOfJson() {
+        OrderEvent event = new OrderEvent(987_654L, 12_345L, new BigDecimal("349.90"), "PAID");
+
+        assertTrue(serializer.serialize(TOPIC, event).length * 2 < jsonSerializer().serialize(TOPIC, event).length);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldCompareBinaryWithJson() {
+        OrderEvent event = new OrderEvent(987_654L, 12_345L, new BigDecimal("349.90"), "PAID");
+        JsonSerializer<OrderEvent> jsonSerializer = jsonSerializer();
+
+        byte[] binary = serializer.serialize(TOPIC, event);
+        byte[] json = jsonSerializer.serialize(TOPIC, event);
+
+        double binarySer = nanosPerOp(() -> serializer.serialize(TOPIC, event));
+        double jsonSer = nanosPerOp(() -> jsonSerializer.serialize(TOPIC, event));
+        double binaryDeser = nanosPerOp(() -> deserializer.deserialize(TOPIC, binary));
+        double jsonDeser = nanosPerOp(() -> deserializer.deserialize(TOPIC, json));
+
+        log.info("OrderEvent binário: {} bytes, ser {} ns/op, deser {} ns/op",
+                binary.length, Math.round(binarySer), Math.round(binaryDeser));
+        log.info("OrderEvent JSON: {} bytes, ser {} ns/op, deser {} ns/op",
+                json.length, Math.round(jsonSer), Math.round(jsonDeser));
+
+        assertTrue(binary.length < json.length);
+    }
+
+    private static JsonSerializer<OrderEvent> jsonSerializer() {
+        JsonSerializer<OrderEvent> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        return jsonSerializer;
+    }
+
+    // Sem JMH no projeto: aquecimento e medição simples, suficiente para comparar ordens de grandeza
+    private static double nanosPerOp(Runnable op) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            op.run();
+        }
+        return (System.nanoTime() - begin) / (double) ITERATIONS;
+    }
+}
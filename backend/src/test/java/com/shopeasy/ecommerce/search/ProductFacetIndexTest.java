@@ -0,0 +1,76 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.ProductFacetRow;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldSkipProductsChangedLocallyWhileSyncReads() {
+        ProductFacetIndex index = new ProductFacetIndex(productRepository, productNameIndex, transactionManager,
+                new SimpleMeterRegistry());
+        index.rebuild();
+
+        // A leitura devolve as linhas de antes da exclusão e da troca de preço feitas aqui no meio dela
+        when(productRepository.findMaxId()).thenReturn(Optional.of(3L));
+        when(productRepository.streamFacetRowsBetween(0, 3)).thenAnswer(invocation -> {
+            index.removeAfterCommit(1L);
+            index.indexAfterCommit(Product.builder()
+                    .id(2L)
+                    .name("Panela Verde")
+                    .category("cozinha")
+                    .price(new BigDecimal("150.00"))
+                    .build());
+            return Stream.of(row(1L, "Panela Azul", "10.00"), row(2L, "Panela Verde", "10.00"),
+                    row(3L, "Panela Roxa", "10.00"));
+        });
+        index.sync();
+
+        assertEquals(2, index.facets(null, null, null, null, 10).getTotal());
+        assertEquals(1, index.facets(null, null, new BigDecimal("100"), null, 10).getTotal());
+    }
+
+    private static ProductFacetRow row(long id, String name, String price) {
+        return new ProductFacetRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getCategory() {
+                return "cozinha";
+            }
+
+            @Override
+            public BigDecimal getPrice() {
+                return new BigDecimal(price);
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.model.Product;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.repository.ProductSearchRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @TempDir
+    private Path indexPath;
+
+    @Test
+    void shouldSkipProductsChangedLocallyWhileSyncReads() throws Exception {
+        ProductSearchIndex index = new ProductSearchIndex(productRepository, transactionManager,
+                new SimpleMeterRegistry(), indexPath.toString(), 10);
+        try {
+            index.rebuild();
+
+            // A leitura devolve as linhas de antes da exclusão e da renomeação feitas aqui no meio dela
+            when(productRepository.findMaxId()).thenReturn(Optional.of(3L));
+            when(productRepository.streamSearchRowsBetween(0, 3)).thenAnswer(invocation -> {
+                index.removeAfterCommit(1L);
+                index.indexAfterCommit(Product.builder().id(2L).name("Bule Verde").build());
+                return Stream.of(row(1L, "Chaleira Azul"), row(2L, "Chaleira Verde"), row(3L, "Chaleira Roxa"));
+            });
+            index.sync();
+
+            assertEquals(List.of(3L), index.search("chaleira", 10));
+            assertEquals(List.of(2L), index.search("bule", 10));
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void shouldNotResurrectProductsDeletedWhileRebuildReads() throws Exception {
+        ProductSearchIndex index = new ProductSearchIndex(productRepository, transactionManager,
+                new SimpleMeterRegistry(), indexPath.toString(), 10);
+        try {
+            when(productRepository.findMaxId()).thenReturn(Optional.of(2L));
+            when(productRepository.streamSearchRowsBetween(0, 2)).thenAnswer(invocation -> {
+                index.removeAfterCommit(1L);
+                return Stream.of(row(1L, "Chaleira Azul"), row(2L, "Chaleira Verde"));
+            });
+            index.rebuild();
+
+            assertEquals(List.of(2L), index.search("chaleira", 10));
+        } finally {
+            index.close();
+        }
+    }
+
+    private static ProductSearchRow row(long id, String name) {
+        return new ProductSearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return null;
+            }
+
+            @Override
+            public String getCategory() {
+                return null;
+            }
+        };
+    }
+}
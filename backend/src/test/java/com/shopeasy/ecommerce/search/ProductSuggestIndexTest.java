@@ -0,0 +1,64 @@
+package com.shopeasy.ecommerce.search;
+
+import com.shopeasy.ecommerce.repository.OrderRepository;
+import com.shopeasy.ecommerce.repository.ProductName;
+import com.shopeasy.ecommerce.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldSkipProductsChangedLocallyWhileSyncReads() {
+        ProductSuggestIndex index = new ProductSuggestIndex(productRepository, orderRepository, transactionManager,
+                new SimpleMeterRegistry(), 10);
+        index.rebuild();
+
+        // A leitura devolve as linhas de antes da exclusão e da renomeação feitas aqui no meio dela
+        when(productRepository.findMaxId()).thenReturn(Optional.of(3L));
+        when(productRepository.streamNamesBetween(0, 3)).thenAnswer(invocation -> {
+            index.changedAfterCommit(1L, "Chaleira Azul", null);
+            index.changedAfterCommit(2L, "Chaleira Verde", "Bule Verde");
+            return Stream.of(name(1L, "Chaleira Azul"), name(2L, "Chaleira Verde"), name(3L, "Chaleira Roxa"));
+        });
+        index.sync();
+
+        assertEquals(List.of("Chaleira Roxa"), names(index.suggest("chaleira", 10)));
+        assertEquals(List.of("Bule Verde"), names(index.suggest("bule", 10)));
+    }
+
+    private static List<String> names(List<ProductSuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestIndex.Suggestion::name).toList();
+    }
+
+    private static ProductName name(long id, String name) {
+        return new ProductName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -6,12 +6,11 @@ import com.shopeasy.ecommerce.dto.request.RegisterRequest;
 import com.shopeasy.ecommerce.dto.response.AuthResponse;
 import com.shopeasy.ecommerce.dto.response.SuccessResponse;
 import com.shopeasy.ecommerce.exception.BusinessException;
+import com.shopeasy.ecommerce.exception.TooManyRequestsException;
 import com.shopeasy.ecommerce.exception.UnauthorizedException;
 import com.shopeasy.ecommerce.model.User;
-import com.shopeasy.ecommerce.security.CustomUserDetailsService;
 import com.shopeasy.ecommerce.security.JwtUtil;
 import com.shopeasy.ecommerce.service.impl.AuthServiceImpl;
-import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
@@ -25,6 +24,7 @@ import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -42,7 +42,7 @@ class AuthServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private CustomUserDetailsService userDetailsService;
+    private RefreshTokenService refreshTokenService;
 
     @Mock
     private UserService userService;
@@ -61,7 +61,7 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any())).thenReturn(auth);
         when(auth.getPrincipal()).thenReturn(userDetails);
         when(jwtUtil.generateToken(userDetails)).thenReturn("access-token");
-        when(jwtUtil.generateRefreshToken(userDetails)).thenReturn("refresh-token");
+        when(refreshTokenService.issue(userDetails)).thenReturn("refresh-token");
 
         AuthResponse response = authService.login(request);
 
@@ -84,28 +84,39 @@ class AuthServiceTest {
         assertEquals("Usuário ou senha inválidos", ex.getMessage());
     }
 
+    @Test
+    void shouldThrowTooManyRequests_WhenHashQueueRejectsUnknownUser() {
+        LoginRequest request = new LoginRequest("inexistente", "1234");
+
+        // Recusa do hash de mitigação de timing, embrulhada pelo DaoAuthenticationProvider
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new InternalAuthenticationServiceException("Fila cheia",
+                        new TooManyRequestsException("Fila cheia", 1)));
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(request));
+    }
+
     @Test
     void shouldRefreshTokenSuccessfully() {
         RefreshRequest request = new RefreshRequest("valid-refresh-token");
-        String username = "fulano";
         UserDetails userDetails = mock(UserDetails.class);
 
-        when(jwtUtil.isTokenValid("valid-refresh-token")).thenReturn(true);
-        when(jwtUtil.getUsernameFromToken("valid-refresh-token")).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(refreshTokenService.rotate("valid-refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(userDetails, "rotated-refresh-token"));
         when(jwtUtil.generateToken(userDetails)).thenReturn("new-access-token");
 
         AuthResponse response = authService.refresh(request);
 
         assertEquals("new-access-token", response.getAccessToken());
-        assertEquals("valid-refresh-token", response.getRefreshToken());
+        assertEquals("rotated-refresh-token", response.getRefreshToken());
     }
 
     @Test
     void shouldThrowUnauthorizedException_WhenRefreshTokenInvalid() {
         RefreshRequest request = new RefreshRequest("invalid-token");
 
-        when(jwtUtil.isTokenValid("invalid-token")).thenReturn(false);
+        when(refreshTokenService.rotate("invalid-token"))
+                .thenThrow(new UnauthorizedException("Token inválido ou expirado"));
 
         UnauthorizedException ex = assertThrows(
                 UnauthorizedException.class,
@@ -118,7 +129,7 @@ class AuthServiceTest {
     void shouldRegisterUserSuccessfully() {
         RegisterRequest request = new RegisterRequest("fulano", "senha123", "USER");
 
-        when(userService.findByUsername("fulano")).thenReturn(Optional.empty());
+        when(userService.existsByUsername("fulano")).thenReturn(false);
         when(passwordEncoder.encode("senha123")).thenReturn("senhaCodificada");
 
         SuccessResponse response = authService.register(request);
@@ -131,7 +142,7 @@ class AuthServiceTest {
     void shouldThrowBusinessException_WhenUsernameExists() {
         RegisterRequest request = new RegisterRequest("fulano", "senha123", "USER");
 
-        when(userService.findByUsername("fulano")).thenReturn(Optional.of(new User()));
+        when(userService.existsByUsername("fulano")).thenReturn(true);
 
         BusinessException ex = assertThrows(
                 BusinessException.class,
@@ -5,7 +5,10 @@ import com.shopeasy.ecommerce.dto.request.OrderRequest;
 import com.shopeasy.ecommerce.exception.BusinessException;
 import com.shopeasy.ecommerce.exception.ResourceNotFoundException;
 import com.shopeasy.ecommerce.kafka.dto.OrderEvent;
-import com.shopeasy.ecommerce.kafka.producer.KafkaProducerService;
+import com.shopeasy.ecommerce.kafka.outbox.OrderEventOutbox;
+import com.shopeasy.ecommerce.model.Order;
+import com.shopeasy.ecommerce.model.OrderItem;
+import com.shopeasy.ecommerce.model.OrderStatus;
 import com.shopeasy.ecommerce.model.Product;
 import com.shopeasy.ecommerce.model.User;
 import com.shopeasy.ecommerce.repository.OrderRepository;
@@ -18,9 +21,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -34,7 +41,9 @@ class OrderServiceTest {
     @Mock
     private UserService userService;
     @Mock
-    private KafkaProducerService kafkaProducerService;
+    private OrderEventOutbox orderEventOutbox;
+    @Mock
+    private InventoryService inventoryService;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -49,14 +58,14 @@ class OrderServiceTest {
         OrderRequest request = OrderRequest.builder().items(List.of(item)).build();
 
         when(userService.findByUsername(username)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product));
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         var response = orderService.create(username, request);
 
         assertEquals(1, response.getItems().size());
         assertTrue(response.getTotal().compareTo(new BigDecimal("20.00")) == 0);
-        verify(kafkaProducerService, times(1)).sendOrderEvent(any(OrderEvent.class));
+        verify(orderEventOutbox, times(1)).enqueue(any(OrderEvent.class));
     }
 
     @Test
@@ -68,7 +77,7 @@ class OrderServiceTest {
         OrderRequest request = OrderRequest.builder().items(List.of(item)).build();
 
         when(userService.findByUsername(username)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of());
 
         assertThrows(ResourceNotFoundException.class, () -> orderService.create(username, request));
     }
@@ -83,8 +92,53 @@ class OrderServiceTest {
         OrderRequest request = OrderRequest.builder().items(List.of(item)).build();
 
         when(userService.findByUsername(username)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product));
+        when(inventoryService.reserve(eq(Map.of(1L, 2)), any())).thenReturn(Map.of(1L, 1));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> orderService.create(username, request));
+
+        assertTrue(ex.getMessage().contains("disponível: 1"));
+        verify(orderEventOutbox, never()).enqueue(any(OrderEvent.class));
+    }
+
+    @Test
+    void shouldReportEveryInvalidItemInOneException() {
+        String username = "fulano";
+        User user = User.builder().id(1L).username(username).build();
+        Product product = Product.builder().id(1L).name("Produto A").price(BigDecimal.TEN).stock(3).build();
+
+        OrderRequest request = OrderRequest.builder().items(List.of(
+                OrderItemRequest.builder().productId(1L).quantity(2).build(),
+                OrderItemRequest.builder().productId(1L).quantity(2).build(),
+                OrderItemRequest.builder().productId(2L).quantity(1).build()
+        )).build();
+
+        when(userService.findByUsername(username)).thenReturn(Optional.of(user));
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product));
+        when(inventoryService.available(Set.of(1L))).thenReturn(Map.of(1L, 3));
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> orderService.create(username, request));
+
+        assertTrue(ex.getMessage().contains("Estoque insuficiente para o produto Produto A"));
+        assertTrue(ex.getMessage().contains("Produto não encontrado com ID 2"));
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(inventoryService, never()).reserve(any(), any());
+        verify(orderEventOutbox, never()).enqueue(any(OrderEvent.class));
+    }
+
+    @Test
+    void shouldReleaseStockWhenOrderDeleted() {
+        Product product = Product.builder().id(1L).name("Produto A").price(BigDecimal.TEN).stock(5).build();
+        Order order = Order.builder().id(10L).status(OrderStatus.NEW).build();
+        order.getItems().add(OrderItem.builder().order(order).product(product).quantity(2).unitPrice(BigDecimal.TEN).build());
+        order.getItems().add(OrderItem.builder().order(order).product(product).quantity(1).unitPrice(BigDecimal.TEN).build());
+
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+
+        orderService.delete(10L);
 
-        assertThrows(BusinessException.class, () -> orderService.create(username, request));
+        verify(inventoryService).release(Map.of(1L, 3), 10L);
+        verify(orderRepository).delete(order);
     }
 }
@@ -1,17 +1,31 @@
 package com.shopeasy.ecommerce.service;
 
+import com.shopeasy.ecommerce.cache.ApproximateCounts;
+import com.shopeasy.ecommerce.cache.ProductCache;
+import com.shopeasy.ecommerce.cache.ProductListCache;
 import com.shopeasy.ecommerce.dto.request.ProductRequest;
 import com.shopeasy.ecommerce.exception.ResourceNotFoundException;
 import com.shopeasy.ecommerce.model.Product;
 import com.shopeasy.ecommerce.repository.ProductRepository;
+import com.shopeasy.ecommerce.search.ProductFacetIndex;
+import com.shopeasy.ecommerce.search.ProductNameIndex;
+import com.shopeasy.ecommerce.search.ProductSearchIndex;
+import com.shopeasy.ecommerce.search.ProductSuggestIndex;
 import com.shopeasy.ecommerce.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -21,6 +35,22 @@ class ProductServiceTest {
 
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private InventoryService inventoryService;
+    @Spy
+    private ProductCache productCache = new ProductCache(new SimpleMeterRegistry(), 100, 60);
+    @Spy
+    private ProductListCache productListCache = new ProductListCache(new SimpleMeterRegistry(), 1_000_000, 60);
+    @Mock
+    private ApproximateCounts approximateCounts;
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+    @Mock
+    private ProductFacetIndex productFacetIndex;
 
     @InjectMocks
     private ProductServiceImpl productService;
@@ -61,6 +91,7 @@ class ProductServiceTest {
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(productRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(inventoryService.restock(1L, 20)).thenReturn(20);
 
         var result = productService.update(1L, dto);
 
@@ -75,4 +106,39 @@ class ProductServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> productService.findById(99L));
     }
+
+    @Test
+    void shouldLoadProductOnceAndReloadAfterEviction() {
+        Product product = Product.builder().id(1L).name("Caneca").price(BigDecimal.TEN).build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(inventoryService.available(1L)).thenReturn(5);
+
+        productService.findById(1L);
+        var cached = productService.findById(1L);
+
+        assertEquals(5, cached.getStock());
+        verify(productRepository, times(1)).findById(1L);
+
+        productCache.evictAfterCommit(1L);
+        productService.findById(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldListSliceWithoutCounting() {
+        Product product = Product.builder().id(1L).name("Caneca").price(BigDecimal.TEN).build();
+        when(productRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(inv -> new SliceImpl<>(List.of(product), inv.getArgument(1), true));
+        when(inventoryService.available(List.of(1L))).thenReturn(Map.of(1L, 3));
+
+        var slice = productService.listSlice("caneca", null, null, null, 0, 1, false);
+
+        assertTrue(slice.isHasNext());
+        assertNull(slice.getApproximateTotal());
+        assertEquals(3, slice.getContent().get(0).getStock());
+        verify(productRepository, never()).count(any(Specification.class));
+        verifyNoInteractions(approximateCounts);
+    }
 }
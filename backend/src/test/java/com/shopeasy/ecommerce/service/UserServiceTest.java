@@ -6,6 +6,7 @@ import com.shopeasy.ecommerce.exception.BusinessException;
 import com.shopeasy.ecommerce.model.Role;
 import com.shopeasy.ecommerce.model.User;
 import com.shopeasy.ecommerce.repository.UserRepository;
+import com.shopeasy.ecommerce.security.UsernameIndex;
 import com.shopeasy.ecommerce.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +25,8 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private UsernameIndex usernameIndex;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -35,7 +38,7 @@ class UserServiceTest {
         request.setPassword("1234");
         request.setRole("USER");
 
-        when(userRepository.existsByUsername("fulano")).thenReturn(false);
+        when(usernameIndex.exists("fulano")).thenReturn(false);
         when(passwordEncoder.encode("1234")).thenReturn("encoded");
         when(userRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
@@ -52,7 +55,7 @@ class UserServiceTest {
         request.setUsername("fulano");
         request.setPassword("1234");
 
-        when(userRepository.existsByUsername("fulano")).thenReturn(true);
+        when(usernameIndex.exists("fulano")).thenReturn(true);
 
         assertThrows(BusinessException.class, () -> userService.create(request));
     }